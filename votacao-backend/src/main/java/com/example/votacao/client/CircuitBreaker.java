@@ -0,0 +1,50 @@
+package com.example.votacao.client;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker mínimo: abre após {@code limiteFalhas} falhas seguidas, fica aberto por
+ * {@code aberturaMs} e então deixa passar uma única chamada de teste (meio-aberto); sucesso fecha,
+ * falha reabre.
+ */
+public class CircuitBreaker {
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final int limiteFalhas;
+    private final long aberturaNanos;
+    private final AtomicInteger falhasSeguidas = new AtomicInteger();
+    private final AtomicBoolean testeEmCurso = new AtomicBoolean();
+    private volatile boolean aberto;
+    private volatile long abertoDesde;
+
+    public CircuitBreaker(int limiteFalhas, long aberturaMs) {
+        this.limiteFalhas = Math.max(1, limiteFalhas);
+        this.aberturaNanos = aberturaMs * 1_000_000L;
+    }
+
+    public boolean permitir() {
+        if (!aberto) return true;
+        if (System.nanoTime() - abertoDesde < aberturaNanos) return false;
+        return testeEmCurso.compareAndSet(false, true);
+    }
+
+    public void sucesso() {
+        falhasSeguidas.set(0);
+        aberto = false;
+        testeEmCurso.set(false);
+    }
+
+    public void falha() {
+        if (testeEmCurso.getAndSet(false) || falhasSeguidas.incrementAndGet() >= limiteFalhas) {
+            abertoDesde = System.nanoTime();
+            aberto = true;
+        }
+    }
+
+    public Estado estado() {
+        if (!aberto) return Estado.FECHADO;
+        return System.nanoTime() - abertoDesde < aberturaNanos ? Estado.ABERTO : Estado.MEIO_ABERTO;
+    }
+}
@@ -1,7 +1,15 @@
 package com.example.votacao.client;
 
+import reactor.core.publisher.Mono;
+
 public interface CpfEligibilityClient {
     enum Status { ABLE_TO_VOTE, UNABLE_TO_VOTE }
     record EligibilityResult(Status status){}
-    EligibilityResult check(String cpf);
+
+    /** Consulta não bloqueante; CPF inexistente termina com NotFoundException. */
+    Mono<EligibilityResult> checkAsync(String cpf);
+
+    default EligibilityResult check(String cpf) {
+        return checkAsync(cpf).block();
+    }
 }
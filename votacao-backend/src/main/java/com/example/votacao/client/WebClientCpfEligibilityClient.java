@@ -6,33 +6,32 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
 import java.time.Duration;
 
 @Component
 public class WebClientCpfEligibilityClient implements CpfEligibilityClient {
 
     private final WebClient webClient;
+    private final Duration timeout;
 
-    public WebClientCpfEligibilityClient(@Value("${cpf.base-url}") String baseUrl){
+    public WebClientCpfEligibilityClient(@Value("${cpf.base-url}") String baseUrl,
+                                         @Value("${cpf.check.timeout-ms:1000}") long timeoutMs){
         this.webClient = WebClient.builder().baseUrl(baseUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
     }
 
     @Override
-    public EligibilityResult check(String cpf) {
-        try {
-            var resp = webClient.get()
-                .uri("/users/{cpf}", cpf)
-                .retrieve()
-                .bodyToMono(EligibilityResult.class)
-                .timeout(Duration.ofSeconds(1))
-                .block();
-            if (resp == null) throw new RuntimeException("Empty response");
-            return resp;
-        } catch (WebClientResponseException e){
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND){
-                throw new NotFoundException("CPF inválido");
-            }
-            throw e;
-        }
+    public Mono<EligibilityResult> checkAsync(String cpf) {
+        return webClient.get()
+            .uri("/users/{cpf}", cpf)
+            .retrieve()
+            .bodyToMono(EligibilityResult.class)
+            .timeout(timeout)
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty response")))
+            .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode() == HttpStatus.NOT_FOUND
+                ? new NotFoundException("CPF inválido")
+                : e);
     }
 }
@@ -9,6 +9,7 @@ public class CorsConfig implements WebMvcConfigurer {
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 		registry.addMapping("/**").allowedOriginPatterns("*").allowedMethods("*").allowedHeaders("*")
+				.exposedHeaders("X-Next-Cursor", "Content-Disposition")
 				.allowCredentials(false).maxAge(3600);
 	}
 }
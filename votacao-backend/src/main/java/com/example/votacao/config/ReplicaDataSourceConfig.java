@@ -0,0 +1,62 @@
+package com.example.votacao.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.votacao.service.ReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Só com {@code votacao.datasource.replica.url} preenchida: dois pools (primária com as configs de
+ * {@code spring.datasource.*}, réplica com as suas) e o {@link RoutingDataSource} como datasource da
+ * aplicação. Flyway, JPA e JdbcTemplate usam o roteado; só as leituras da {@code LeituraRoteada} vão para a réplica.
+ */
+@Configuration
+@ConditionalOnExpression("!'${votacao.datasource.replica.url:}'.isEmpty()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties props) {
+        HikariDataSource ds = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primaria");
+        return ds;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties props,
+            @Value("${votacao.datasource.replica.url}") String url,
+            @Value("${votacao.datasource.replica.username:}") String username,
+            @Value("${votacao.datasource.replica.password:}") String password,
+            @Value("${votacao.datasource.replica.maximum-pool-size:10}") int maxPool,
+            @Value("${votacao.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        ds.setJdbcUrl(url);
+        ds.setUsername(username.isEmpty() ? props.determineUsername() : username);
+        ds.setPassword(password.isEmpty() ? props.determinePassword() : password);
+        ds.setMaximumPoolSize(maxPool);
+        // réplica lenta para dar conexão: melhor cair logo na primária
+        ds.setConnectionTimeout(connectionTimeoutMs);
+        return ds;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primariaDataSource, HikariDataSource replicaDataSource,
+            ReplicaMonitor monitor, MeterRegistry registry) {
+        monitor.ativar(primariaDataSource, replicaDataSource);
+        return new LazyConnectionDataSourceProxy(
+                new RoutingDataSource(primariaDataSource, replicaDataSource, monitor, registry));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.votacao.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.votacao.service.LeituraRoteada;
+import com.example.votacao.service.ReplicaMonitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Transação read-only aberta pela {@link LeituraRoteada}, com a réplica em dia, vai para a réplica;
+ * todo o resto (inclusive as transações read-only do próprio Spring Data) vai para a primária.
+ * Precisa ficar atrás de um {@code LazyConnectionDataSourceProxy}: a conexão só é pedida no primeiro
+ * comando, quando o flag read-only da transação já está marcado. Se a réplica não entregar conexão,
+ * a leitura cai na primária.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIA, REPLICA }
+
+    private final DataSource primaria;
+    private final DataSource replica;
+    private final ReplicaMonitor monitor;
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimaria;
+
+    public RoutingDataSource(DataSource primaria, DataSource replica, ReplicaMonitor monitor, MeterRegistry registry) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.leiturasReplica = Counter.builder("votacao.db.leituras").tag("destino", "replica").register(registry);
+        this.leiturasPrimaria = Counter.builder("votacao.db.leituras").tag("destino", "primaria").register(registry);
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !LeituraRoteada.TRANSACAO.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return Destino.PRIMARIA;
+        }
+        if (monitor.utilizavel()) {
+            leiturasReplica.increment();
+            return Destino.REPLICA;
+        }
+        leiturasPrimaria.increment();
+        return Destino.PRIMARIA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Destino.PRIMARIA) return primaria.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            monitor.falhou(e);
+            return primaria.getConnection();
+        }
+    }
+}
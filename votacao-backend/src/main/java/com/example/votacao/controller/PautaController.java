@@ -1,43 +1,114 @@
 package com.example.votacao.controller;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.votacao.domain.Pauta;
 import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.PaginaPautas;
+import com.example.votacao.dto.PautaResumo;
 import com.example.votacao.dto.ResultadoDTO;
 import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.FormatoExport;
+import com.example.votacao.service.ConcorrenciaAdaptativa;
+import com.example.votacao.service.ConcorrenciaAdaptativa.Classe;
+import com.example.votacao.service.LimiteTaxaVotos;
 import com.example.votacao.service.PautaService;
+import com.example.votacao.service.ResultadoBroadcaster;
+import com.example.votacao.service.ResultadoHttpCache;
 import com.example.votacao.service.VotacaoService;
+import com.example.votacao.service.VotoExportService;
+import com.example.votacao.service.VotoLoteStream;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 @Slf4j
 @CrossOrigin("*")
 @RestController
 @RequestMapping("/pautas")
 public class PautaController {
 
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final PautaService pautaService;
     private final VotacaoService votacaoService;
+    private final VotoLoteStream votoLoteStream;
+    private final ResultadoBroadcaster resultadoBroadcaster;
+    private final ResultadoHttpCache resultadoCache;
+    private final VotoExportService votoExport;
+    private final ConcorrenciaAdaptativa concorrencia;
+    private final LimiteTaxaVotos taxaVotos;
+    private final CacheControl cachePauta;
+    private final CacheControl cacheResultadoAberto;
+    private final CacheControl cacheResultadoFinal = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
 
-    public PautaController(PautaService pautaService, VotacaoService votacaoService) {
+    public PautaController(PautaService pautaService, VotacaoService votacaoService, VotoLoteStream votoLoteStream,
+            ResultadoBroadcaster resultadoBroadcaster, ResultadoHttpCache resultadoCache, VotoExportService votoExport,
+            ConcorrenciaAdaptativa concorrencia, LimiteTaxaVotos taxaVotos,
+            @Value("${votacao.http.cache.pauta-max-age-seconds:3600}") long pautaMaxAge,
+            @Value("${votacao.http.cache.resultado-aberto-max-age-seconds:1}") long resultadoAbertoMaxAge) {
         this.pautaService = pautaService;
         this.votacaoService = votacaoService;
+        this.votoLoteStream = votoLoteStream;
+        this.resultadoBroadcaster = resultadoBroadcaster;
+        this.resultadoCache = resultadoCache;
+        this.votoExport = votoExport;
+        this.concorrencia = concorrencia;
+        this.taxaVotos = taxaVotos;
+        this.cachePauta = CacheControl.maxAge(Duration.ofSeconds(pautaMaxAge)).cachePublic();
+        this.cacheResultadoAberto = CacheControl.maxAge(Duration.ofSeconds(resultadoAbertoMaxAge)).mustRevalidate();
     }
 
+    /**
+     * Lista resumida (sem descrição, com o status da sessão), mais recentes primeiro. Paginação por
+     * cursor: se houver mais, o header {@code X-Next-Cursor} traz o valor para o parâmetro {@code cursor}.
+     */
     @GetMapping
-    public List<Pauta> listar() { return pautaService.listar(); }
+    public ResponseEntity<List<PautaResumo>> listar(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false, defaultValue = "" + PautaService.LIMITE_PADRAO) int limite) {
+        PaginaPautas pagina = pautaService.listar(cursor, limite);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) ok.header(NEXT_CURSOR, pagina.proximoCursor());
+        return ok.body(pagina.itens());
+    }
+
+    /**
+     * Pauta não muda depois de criada: o ETag sai do id e o 304 só confere que ela existe (cache da
+     * janela), sem carregar a pauta. ETag adivinhado ou {@code *} de pauta inexistente é 404.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Pauta> detalhe(@PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"p-" + id + "\"";
+        if (confere(ifNoneMatch, etag) && pautaService.existe(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cachePauta).build();
+        }
+        Pauta p = pautaService.get(id);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cachePauta).body(p);
+    }
 
     @PostMapping
     public Pauta criar(@RequestBody CreatePautaRequest req) { return pautaService.criar(req); }
@@ -50,14 +121,91 @@ public class PautaController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    /**
+     * Antes de tudo, limite de taxa por CPF e por IP (em memória, sem banco); depois o limite adaptativo
+     * da classe VOTO. Os dois respondem 429 com Retry-After.
+     */
     @PostMapping("/{id}/votar")
-    public ResponseEntity<Void> votar(@PathVariable UUID id, @RequestBody VotoRequest req) {
-        votacaoService.votar(id, req);
+    public ResponseEntity<Void> votar(@PathVariable UUID id, @RequestBody VotoRequest req, HttpServletRequest request) {
+        taxaVotos.exigir(id, req.cpf(), request.getRemoteAddr());
+        concorrencia.executar(Classe.VOTO, () -> {
+            votacaoService.votar(id, req);
+            return null;
+        });
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    /**
+     * Envio em lote para gateways/quiosques: corpo NDJSON com um {"cpf","opcao"} por linha, lido em
+     * streaming; a resposta (também NDJSON) traz o resultado de cada linha à medida que os lotes são gravados.
+     */
+    @PostMapping(value = "/{id}/votos:bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> votarEmLote(@PathVariable UUID id, HttpServletRequest request) {
+        votacaoService.exigirPauta(id); // 404 antes de começar a responder
+        StreamingResponseBody body = out -> votoLoteStream.processar(id, request.getInputStream(), out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Todos os votos da pauta (auditoria), em streaming direto do banco: {@code formato=csv|ndjson};
+     * {@code mascarar=true} (padrão) troca o CPF por {@code ***.456.789-**}.
+     */
+    @GetMapping("/{id}/votos/export")
+    public ResponseEntity<StreamingResponseBody> exportarVotos(@PathVariable UUID id,
+            @RequestParam(name = "formato", required = false, defaultValue = "csv") String formato,
+            @RequestParam(name = "mascarar", required = false, defaultValue = "true") boolean mascarar) {
+        FormatoExport f = FormatoExport.de(formato);
+        votacaoService.exigirPauta(id); // 404 antes de começar a responder
+        StreamingResponseBody body = out -> votoExport.exportar(id, f, mascarar, out);
+        return ResponseEntity.ok()
+                .contentType(f.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("votos-" + id + "." + f.extensao()).build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    /**
+     * Resultado com ETag: poll repetido sem mudança recebe 304. Encerrado (placar congelado) vai com
+     * cache longo e {@code immutable}, direto dos bytes guardados; em andamento, com max-age curto.
+     * Limite de concorrência próprio (classe RESULTADO), separado do voto.
+     */
     @GetMapping("/{id}/resultado")
-    public ResultadoDTO resultado(@PathVariable UUID id) {
-        return pautaService.resultado(id);
+    public ResponseEntity<?> resultado(@PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return concorrencia.executar(Classe.RESULTADO, () -> responderResultado(id, ifNoneMatch));
+    }
+
+    private ResponseEntity<?> responderResultado(UUID id, String ifNoneMatch) {
+        ResultadoHttpCache.Representacao r = resultadoCache.resultado(id);
+        CacheControl cache = r.congelado() ? cacheResultadoFinal : cacheResultadoAberto;
+        if (confere(ifNoneMatch, r.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(r.etag()).cacheControl(cache).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(r.etag()).cacheControl(cache);
+        return r.json() != null
+                ? ok.contentType(MediaType.APPLICATION_JSON).body(r.json())
+                : ok.body(r.resultado());
+    }
+
+    /**
+     * If-None-Match traz o ETag (ou {@code *})? Aceita lista e a forma fraca {@code W/"..."}.
+     * {@code *} casa com qualquer representação atual: só vale para recurso que se sabe existir.
+     */
+    static boolean confere(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidato : ifNoneMatch.split(",")) {
+            String c = candidato.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag) || c.equals("*")) return true;
+        }
+        return false;
+    }
+
+    /** Resultado ao vivo (SSE): eventos "resultado" quando o placar muda e um "final" quando a sessão encerra. */
+    @GetMapping(value = "/{id}/resultado/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ResultadoDTO>> resultadoStream(@PathVariable UUID id) {
+        return resultadoBroadcaster.assinar(id);
     }
 }
@@ -0,0 +1,94 @@
+package com.example.votacao.domain;
+
+/**
+ * CPF como {@code long}: converte os dois formatos aceitos ({@code 12345678909} e
+ * {@code 123.456.789-09}) numa passada só, sem regex e sem criar Strings, e valida os dígitos
+ * verificadores (módulo 11).
+ */
+public final class Cpf {
+
+    /** Valor de "não é CPF" devolvido pelo {@link #parse}. */
+    public static final long INVALIDO = -1L;
+
+    private static final long LIMITE = 100_000_000_000L; // 10^11
+
+    private Cpf() {}
+
+    public static long parse(CharSequence s) {
+        return s == null ? INVALIDO : parse(s, 0, s.length());
+    }
+
+    /**
+     * Lê {@code s[inicio, fim)}; aceita só 11 dígitos seguidos ou a máscara {@code ddd.ddd.ddd-dd}.
+     * Não olha os dígitos verificadores (ver {@link #isValido}).
+     */
+    public static long parse(CharSequence s, int inicio, int fim) {
+        int n = fim - inicio;
+        if (n == 11) return digitos(s, inicio, fim);
+        if (n != 14) return INVALIDO;
+        long v = 0;
+        for (int i = 0; i < 14; i++) {
+            char c = s.charAt(inicio + i);
+            if (i == 3 || i == 7) {
+                if (c != '.') return INVALIDO;
+            } else if (i == 11) {
+                if (c != '-') return INVALIDO;
+            } else {
+                int d = c - '0';
+                if (d < 0 || d > 9) return INVALIDO;
+                v = v * 10 + d;
+            }
+        }
+        return v;
+    }
+
+    /** Dígitos verificadores conferem e não é uma sequência repetida (000..., 111..., ...). */
+    public static boolean isValido(long cpf) {
+        if (cpf < 0 || cpf >= LIMITE) return false;
+        long base = cpf / 100;
+        int dv = (int) (cpf % 100);
+
+        int soma1 = 0, soma2 = 0;
+        boolean repetido = true;
+        int anterior = (int) (base % 10);
+        // base tem 9 dígitos; percorre do último (peso 2/3) para o primeiro (peso 10/11)
+        for (int peso = 2; peso <= 10; peso++) {
+            int d = (int) (base % 10);
+            base /= 10;
+            soma1 += d * peso;
+            soma2 += d * (peso + 1);
+            repetido &= d == anterior;
+        }
+        int dv1 = digito(soma1);
+        int dv2 = digito(soma2 + dv1 * 2);
+        return !repetido && dv == dv1 * 10 + dv2;
+    }
+
+    /** 11 dígitos com zeros à esquerda (formato da API de elegibilidade). */
+    public static String formatar(long cpf) {
+        char[] c = new char[11];
+        for (int i = 10; i >= 0; i--, cpf /= 10) c[i] = (char) ('0' + cpf % 10);
+        return new String(c);
+    }
+
+    /** Máscara de exibição {@code ***.456.789-**}: só os 6 dígitos do meio aparecem. */
+    public static String mascarar(long cpf) {
+        String d = formatar(cpf);
+        return "***." + d.substring(3, 6) + '.' + d.substring(6, 9) + "-**";
+    }
+
+    private static long digitos(CharSequence s, int inicio, int fim) {
+        long v = 0;
+        for (int i = inicio; i < fim; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return INVALIDO;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private static int digito(int soma) {
+        int r = soma % 11;
+        return r < 2 ? 0 : 11 - r;
+    }
+}
@@ -12,7 +12,7 @@ import jakarta.persistence.*;
 public class Pauta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     @Column(name = "id", columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -0,0 +1,43 @@
+package com.example.votacao.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+
+/** Placar final de uma pauta, gravado uma única vez quando a sessão encerra. */
+@Entity
+@Immutable
+@Table(name = "resultado_final")
+public class ResultadoFinal {
+
+    @Id
+    @Column(name = "pauta_id", columnDefinition = "BINARY(16)")
+    private UUID pautaId;
+
+    @Column(name = "sim", nullable = false)
+    private long sim;
+
+    @Column(name = "nao", nullable = false)
+    private long nao;
+
+    @Column(name = "encerrada_em", nullable = false)
+    private Instant encerradaEm;
+
+    protected ResultadoFinal() {}
+
+    public ResultadoFinal(UUID pautaId, long sim, long nao, Instant encerradaEm) {
+        this.pautaId = pautaId;
+        this.sim = sim;
+        this.nao = nao;
+        this.encerradaEm = encerradaEm;
+    }
+
+    public UUID getPautaId() { return pautaId; }
+    public long getSim() { return sim; }
+    public long getNao() { return nao; }
+    public long getTotal() { return sim + nao; }
+    public Instant getEncerradaEm() { return encerradaEm; }
+}
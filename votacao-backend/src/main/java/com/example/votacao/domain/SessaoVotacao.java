@@ -19,7 +19,7 @@ import com.example.votacao.dto.enums.SessaoStatus;
 public class SessaoVotacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     @Column(name = "id", columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -0,0 +1,19 @@
+package com.example.votacao.domain;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id UUID ordenado por tempo (layout UUIDv7), gerado por {@link UuidV7Generator}.
+ * Substitui {@code @GeneratedValue(strategy = GenerationType.UUID)}, que gera v4 aleatório.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface UuidV7 {}
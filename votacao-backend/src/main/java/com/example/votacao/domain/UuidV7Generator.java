@@ -0,0 +1,53 @@
+package com.example.votacao.domain;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Gera UUIDs no layout v7: 48 bits de epoch em ms, versão, 12 bits de sequência, variante e 62 bits
+ * aleatórios. Em BINARY(16) os ids saem em ordem crescente, então o insert no índice clusterizado do
+ * InnoDB cai sempre no fim da árvore (sem page split no meio nem churn no buffer pool).
+ * <p>
+ * Monotônico na JVM mesmo com threads concorrentes: timestamp e sequência ficam num único
+ * {@link AtomicLong}; se a sequência estoura dentro do mesmo ms, avança o timestamp em 1 ms.
+ * Só aloca o próprio {@link UUID}.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final AtomicLong ULTIMO = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        // estado = (epochMs << 12) | sequencia
+        long agora = System.currentTimeMillis() << 12;
+        long estado;
+        long anterior;
+        do {
+            anterior = ULTIMO.get();
+            estado = Math.max(agora, anterior + 1);
+        } while (!ULTIMO.compareAndSet(anterior, estado));
+
+        long msb = ((estado >>> 12) << 16)   // 48 bits de timestamp
+                | 0x7000L                    // versão 7
+                | (estado & 0xFFFL);         // 12 bits de sequência
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
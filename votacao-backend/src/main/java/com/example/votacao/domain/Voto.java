@@ -1,26 +1,28 @@
 package com.example.votacao.domain;
 
+import java.io.Serializable;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.UUID;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
 import com.example.votacao.dto.enums.OpcaoVoto;
 
 @Entity
-@Table(
-		  name = "voto",
-		  uniqueConstraints = @UniqueConstraint(name = "uk_voto_pauta_cpf", columnNames = {"pauta_id","cpf"})
-		)
-public class Voto {
+@Table(name = "voto")
+@IdClass(Voto.Chave.class)
+public class Voto implements Persistable<Voto.Chave> {
 
+    // chave primária (pauta_id, cpf): é também a regra "1 voto por CPF por pauta"
     @Id
-    @GeneratedValue
-    private UUID id;
-
-    @Column(nullable = false)
+    @Column(name = "pauta_id", nullable = false, columnDefinition = "BINARY(16)")
     private UUID pautaId;
 
-    @Column(nullable = false, length = 11)
-    private String cpf; 
+    // 11 dígitos cabem num BIGINT UNSIGNED (8 bytes contra 11+1 do VARCHAR)
+    @Id
+    @Column(name = "cpf", nullable = false)
+    private long cpf;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 3)
@@ -29,24 +31,56 @@ public class Voto {
     @Column(nullable = false)
     private Instant createdAt;
 
-    // Getters e Setters
-    public UUID getId() { return id; }
-    public void setId(UUID id) { this.id = id; }
+    // chave atribuída pela aplicação: sem isso o save() faria merge (SELECT + UPDATE) e um voto
+    // repetido sobrescreveria o anterior em vez de bater na PK
+    @Transient
+    private boolean novo = true;
+
+    @Override
+    public Chave getId() { return new Chave(pautaId, cpf); }
+
+    @Override
+    public boolean isNew() { return novo; }
+
+    @PostPersist
+    @PostLoad
+    void marcarPersistido() { this.novo = false; }
 
+    // Getters e Setters
     public UUID getPautaId() { return pautaId; }
     public void setPautaId(UUID pautaId) { this.pautaId = pautaId; }
 
-    public String getCpf() { return cpf; }
-    public void setCpf(String cpf) { this.cpf = cpf; }
+    public long getCpf() { return cpf; }
+    public void setCpf(long cpf) { this.cpf = cpf; }
 
     public OpcaoVoto getOpcao() { return opcao; }
     public void setOpcao(OpcaoVoto opcao) { this.opcao = opcao; }
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
-    
-    
-    
-    
-}
 
+    public static class Chave implements Serializable {
+        private UUID pautaId;
+        private long cpf;
+
+        public Chave() {}
+
+        public Chave(UUID pautaId, long cpf) {
+            this.pautaId = pautaId;
+            this.cpf = cpf;
+        }
+
+        public UUID getPautaId() { return pautaId; }
+        public long getCpf() { return cpf; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave c && cpf == c.cpf && Objects.equals(pautaId, c.pautaId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pautaId, cpf);
+        }
+    }
+}
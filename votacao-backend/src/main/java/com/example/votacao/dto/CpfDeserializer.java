@@ -0,0 +1,38 @@
+package com.example.votacao.dto;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+import com.example.votacao.domain.Cpf;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Lê o CPF do JSON direto do buffer de caracteres do parser (sem materializar a String), com ou sem
+ * máscara. Só string JSON: número perderia os zeros à esquerda. Formato inválido (ou outro tipo de
+ * valor) vira {@link Cpf#INVALIDO}, que o service recusa com o 422 "CPF inválido" de sempre em vez
+ * de um erro de desserialização.
+ */
+public class CpfDeserializer extends StdDeserializer<Long> {
+
+    public CpfDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            // número, objeto etc.: pula o valor inteiro e cai no 422 da validação
+            p.skipChildren();
+            return Cpf.INVALIDO;
+        }
+        return Cpf.parse(CharBuffer.wrap(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+    }
+
+    @Override
+    public Long getNullValue(DeserializationContext ctxt) {
+        return Cpf.INVALIDO;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.votacao.dto;
+
+import java.util.List;
+
+/** Uma página da listagem; {@code proximoCursor} é nulo na última. */
+public record PaginaPautas(List<PautaResumo> itens, String proximoCursor) {}
@@ -0,0 +1,36 @@
+package com.example.votacao.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.example.votacao.exception.UnprocessableException;
+
+/**
+ * Posição na listagem de pautas: a última linha devolvida, {@code (createdAt, id)}. Vai para o cliente
+ * opaco (base64url) no header {@code X-Next-Cursor} e volta no parâmetro {@code cursor}.
+ */
+public record PautaCursor(Instant createdAt, UUID id) {
+
+    public static PautaCursor de(PautaResumo ultima) {
+        return new PautaCursor(ultima.createdAt(), ultima.id());
+    }
+
+    public String codificar() {
+        String s = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PautaCursor decodificar(String cursor) {
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int sep = s.indexOf('|');
+            if (sep < 0) throw new IllegalArgumentException();
+            return new PautaCursor(Instant.parse(s.substring(0, sep)), UUID.fromString(s.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new UnprocessableException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.votacao.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.example.votacao.dto.enums.SessaoStatus;
+
+/**
+ * Linha de {@code GET /pautas}: sem a {@code descricao} (TEXT) e com o status da sessão vindo do mesmo
+ * SELECT. {@code sessaoStatus} é nulo quando a pauta ainda não teve sessão.
+ */
+public record PautaResumo(UUID id, String titulo, Instant createdAt, SessaoStatus sessaoStatus, Instant sessaoFechaEm) {
+
+    /** Sessão ABERTA cujo prazo já passou, mas que o agendador ainda não encerrou, sai como ENCERRADA. */
+    public PautaResumo noInstante(Instant agora) {
+        if (sessaoStatus == SessaoStatus.ABERTA && !agora.isBefore(sessaoFechaEm)) {
+            return new PautaResumo(id, titulo, createdAt, SessaoStatus.ENCERRADA, sessaoFechaEm);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.votacao.dto;
+
+import com.example.votacao.dto.enums.StatusVotoLote;
+
+/** Uma linha da resposta NDJSON de {@code POST /pautas/{id}/votos:bulk}; linha começa em 1. */
+public record VotoLoteResultado(long linha, StatusVotoLote status, String mensagem) {}
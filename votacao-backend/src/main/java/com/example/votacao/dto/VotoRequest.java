@@ -1,21 +1,26 @@
 package com.example.votacao.dto;
+import com.example.votacao.domain.Cpf;
 import com.example.votacao.dto.enums.OpcaoVoto;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
 
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 
 public record VotoRequest(
+    // aceita "12345678909" ou "123.456.789-09"; convertido uma vez na desserialização
     @JsonProperty("cpf")
-    @NotBlank(message = "CPF é obrigatório")
-    @Pattern(
-        regexp = "\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}",
-        message = "CPF deve ter 11 dígitos"
-    )
-    String cpf,
+    @JsonDeserialize(using = CpfDeserializer.class)
+    @Schema(type = "string", example = "123.456.789-09")
+    long cpf,
 
     @JsonProperty("opcao")
     @NotNull(message = "Opção é obrigatória")
     OpcaoVoto opcao
-) {}
+) {
+    /** CPF em texto, com ou sem máscara; formato inválido vira {@link Cpf#INVALIDO}. */
+    public VotoRequest(String cpf, OpcaoVoto opcao) {
+        this(Cpf.parse(cpf), opcao);
+    }
+}
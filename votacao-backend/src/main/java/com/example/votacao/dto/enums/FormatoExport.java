@@ -0,0 +1,39 @@
+package com.example.votacao.dto.enums;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.example.votacao.exception.UnprocessableException;
+
+/** Formatos de {@code GET /pautas/{id}/votos/export}. */
+public enum FormatoExport {
+
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoExport(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extensao() {
+        return extensao;
+    }
+
+    public static FormatoExport de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UnprocessableException("Formato inválido (use csv ou ndjson)");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.example.votacao.dto.enums;
+
+public enum StatusVotoLote { CRIADO, DUPLICADO, INVALIDO, SESSAO_ENCERRADA, INAPTO, INDISPONIVEL }
@@ -1,5 +1,6 @@
 package com.example.votacao.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -31,6 +32,17 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
                 "type","forbidden","message", ex.getMessage()));
     }
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> su(ServiceUnavailableException ex){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "type","unavailable","message", ex.getMessage()));
+    }
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> tm(TooManyRequestsException ex){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds())).body(Map.of(
+                "type","too-many-requests","message", ex.getMessage()));
+    }
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> bad(MethodArgumentNotValidException ex){
         return ResponseEntity.badRequest().body(Map.of(
@@ -0,0 +1,4 @@
+package com.example.votacao.exception;
+public class ServiceUnavailableException extends RuntimeException {
+  public ServiceUnavailableException(String m){ super(m); }
+}
@@ -0,0 +1,6 @@
+package com.example.votacao.exception;
+public class TooManyRequestsException extends RuntimeException {
+  private final long retryAfterSeconds;
+  public TooManyRequestsException(String m, long retryAfterSeconds){ super(m); this.retryAfterSeconds = retryAfterSeconds; }
+  public long getRetryAfterSeconds(){ return retryAfterSeconds; }
+}
@@ -1,5 +1,31 @@
 package com.example.votacao.repository;
-import com.example.votacao.domain.Pauta;
-import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
-public interface PautaRepository extends JpaRepository<Pauta, UUID> {}
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.votacao.domain.Pauta;
+import com.example.votacao.dto.PautaResumo;
+
+public interface PautaRepository extends JpaRepository<Pauta, UUID> {
+
+	// listagem por keyset em (created_at, id), servida pelo idx_pauta_created_id; sem descricao
+	@Query("""
+			SELECT new com.example.votacao.dto.PautaResumo(p.id, p.titulo, p.createdAt, s.status, s.closesAt)
+			FROM Pauta p LEFT JOIN SessaoVotacao s ON s.pautaId = p.id
+			ORDER BY p.createdAt DESC, p.id DESC""")
+	List<PautaResumo> resumos(Limit limit);
+
+	// o "<=" redundante dá ao otimizador um limite de range no índice; só o OR costuma virar full scan
+	@Query("""
+			SELECT new com.example.votacao.dto.PautaResumo(p.id, p.titulo, p.createdAt, s.status, s.closesAt)
+			FROM Pauta p LEFT JOIN SessaoVotacao s ON s.pautaId = p.id
+			WHERE p.createdAt <= :createdAt
+			  AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+			ORDER BY p.createdAt DESC, p.id DESC""")
+	List<PautaResumo> resumosAntes(Instant createdAt, UUID id, Limit limit);
+}
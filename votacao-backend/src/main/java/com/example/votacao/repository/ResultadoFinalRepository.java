@@ -0,0 +1,5 @@
+package com.example.votacao.repository;
+import com.example.votacao.domain.ResultadoFinal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.UUID;
+public interface ResultadoFinalRepository extends JpaRepository<ResultadoFinal, UUID> {}
@@ -1,9 +1,12 @@
 package com.example.votacao.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.votacao.domain.SessaoVotacao;
 import com.example.votacao.dto.enums.SessaoStatus;
@@ -14,4 +17,11 @@ public interface SessaoVotacaoRepository extends JpaRepository<SessaoVotacao, UU
 	Optional<SessaoVotacao> findFirstByPautaIdAndStatusOrderByOpenedAtDesc(UUID pautaId, SessaoStatus status);
 
 	Optional<SessaoVotacao> findByPautaId(UUID pautaId);
+
+	List<SessaoVotacao> findByStatus(SessaoStatus status);
+
+	// só quem trocar ABERTA -> ENCERRADA grava o placar final (seguro com várias réplicas)
+	@Modifying
+	@Query("UPDATE SessaoVotacao s SET s.status = :novo WHERE s.pautaId = :pautaId AND s.status = :atual")
+	int trocarStatus(UUID pautaId, SessaoStatus atual, SessaoStatus novo);
 }
@@ -0,0 +1,78 @@
+package com.example.votacao.repository;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+
+/**
+ * Movimentação de votos de pautas encerradas de {@code voto} para {@code voto_arquivo} via JDBC. Cada
+ * chamada de {@link #moverLote} move um intervalo contíguo da PK (pauta_id, cpf) e deve rodar numa
+ * transação própria: os locks ficam só nas linhas do lote.
+ */
+@Repository
+public class VotoArquivoRepository {
+
+    /** {@code opcao} (texto em voto) para o ordinal gravado em voto_arquivo, e o inverso. */
+    public static final String OPCAO_PARA_ORDINAL;
+    public static final String ORDINAL_PARA_OPCAO;
+
+    static {
+        StringBuilder para = new StringBuilder("CASE opcao");
+        StringBuilder de = new StringBuilder("CASE opcao");
+        for (OpcaoVoto o : OpcaoVoto.values()) {
+            para.append(" WHEN '").append(o.name()).append("' THEN ").append(o.ordinal());
+            de.append(" WHEN ").append(o.ordinal()).append(" THEN '").append(o.name()).append('\'');
+        }
+        OPCAO_PARA_ORDINAL = para.append(" END").toString();
+        ORDINAL_PARA_OPCAO = de.append(" END").toString();
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public VotoArquivoRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Pautas encerradas antes de {@code antes} com votos ainda não arquivados, das mais antigas. */
+    public List<UUID> candidatas(Instant antes, int limite) {
+        return jdbc.query("SELECT pauta_id FROM resultado_final WHERE arquivada_em IS NULL AND encerrada_em <= ? "
+                + "ORDER BY encerrada_em LIMIT ?",
+                (rs, i) -> toUuid(rs.getBytes(1)), LocalDateTime.ofInstant(antes, ZoneOffset.UTC), limite);
+    }
+
+    /**
+     * Move os próximos {@code tamanho} votos da pauta (menores CPFs) para o arquivo.
+     * @return quantos foram movidos (0 = não sobrou nada em voto)
+     */
+    public int moverLote(UUID pautaId, int tamanho) {
+        byte[] id = VotoBatchRepository.toBytes(pautaId);
+        Long ate = jdbc.queryForObject(
+                "SELECT MAX(cpf) FROM (SELECT cpf FROM voto WHERE pauta_id = ? ORDER BY cpf LIMIT ?) lote",
+                Long.class, id, tamanho);
+        if (ate == null) return 0;
+        jdbc.update("INSERT INTO voto_arquivo (pauta_id, cpf, opcao, created_at) SELECT pauta_id, cpf, "
+                + OPCAO_PARA_ORDINAL + ", created_at FROM voto WHERE pauta_id = ? AND cpf <= ?", id, ate);
+        return jdbc.update("DELETE FROM voto WHERE pauta_id = ? AND cpf <= ?", id, ate);
+    }
+
+    /** Pauta inteira no arquivo: os shards do placar não são mais lidos (o resultado é o resultado_final). */
+    public void concluir(UUID pautaId, Instant agora) {
+        byte[] id = VotoBatchRepository.toBytes(pautaId);
+        jdbc.update("DELETE FROM voto_tally WHERE pauta_id = ?", (Object) id);
+        jdbc.update("UPDATE resultado_final SET arquivada_em = ? WHERE pauta_id = ?",
+                LocalDateTime.ofInstant(agora, ZoneOffset.UTC), id);
+    }
+
+    private static UUID toUuid(byte[] b) {
+        ByteBuffer bb = ByteBuffer.wrap(b);
+        return new UUID(bb.getLong(), bb.getLong());
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.votacao.repository;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.votacao.domain.Voto;
+
+/**
+ * Inserção de votos via JDBC puro, em lote.
+ * Com {@code rewriteBatchedStatements=true} o driver MySQL envia o lote como um único INSERT multi-linha.
+ */
+@Repository
+public class VotoBatchRepository {
+
+    static final String INSERT_SQL =
+            "INSERT INTO voto (pauta_id, cpf, opcao, created_at) VALUES (?, ?, ?, ?)";
+
+    /** Desfecho de {@link #admitir}. */
+    public enum Admissao { CRIADO, DUPLICADO, ENCERRADA }
+
+    // o voto só entra se a sessão da pauta estiver ABERTA, dentro da janela e o CPF ainda não tiver votado;
+    // sem IGNORE: erro de dado (FK, truncamento) sobe como erro, não como "0 linhas"
+    static final String ADMITIR_SQL = "INSERT INTO voto (pauta_id, cpf, opcao, created_at) "
+            + "SELECT s.pauta_id, ?, ?, ? FROM sessao_votacao s "
+            + "WHERE s.pauta_id = ? AND s.status = 'ABERTA' AND s.closes_at > ? "
+            + "AND NOT EXISTS (SELECT 1 FROM voto v WHERE v.pauta_id = s.pauta_id AND v.cpf = ?)";
+
+    // só quando nada entrou: qual dos dois motivos
+    static final String MOTIVO_SQL = "SELECT s.status, s.closes_at > ?, "
+            + "EXISTS (SELECT 1 FROM voto v WHERE v.pauta_id = s.pauta_id AND v.cpf = ?) "
+            + "FROM sessao_votacao s WHERE s.pauta_id = ?";
+
+    // trava as sessões do lote até o commit: o encerramento (UPDATE para ENCERRADA + contagem) espera
+    // o lote, ou o lote enxerga a sessão já encerrada
+    static final String SESSOES_ABERTAS_SQL =
+            "SELECT pauta_id, closes_at FROM sessao_votacao WHERE status = 'ABERTA' AND pauta_id IN (%s) FOR UPDATE";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public VotoBatchRepository(JdbcTemplate jdbc, TransactionTemplate tx) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+    }
+
+    /**
+     * Grava o lote numa transação; se algum CPF já tiver votado (o batch inteiro cai), refaz linha a
+     * linha para saber quem entrou. {@code gravados} roda na mesma transação dos INSERTs, com os votos
+     * que entraram (o placar soma junto com o commit).
+     * @return gravado[i] == false quando votos.get(i) era duplicado
+     */
+    public boolean[] insertAllSkippingDuplicates(List<Voto> votos, Consumer<List<Voto>> gravados) {
+        boolean[] gravado = new boolean[votos.size()];
+        try {
+            tx.executeWithoutResult(st -> {
+                insertAll(votos);
+                gravados.accept(votos);
+            });
+            Arrays.fill(gravado, true);
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < votos.size(); i++) {
+                List<Voto> um = List.of(votos.get(i));
+                try {
+                    tx.executeWithoutResult(st -> {
+                        insert(um.get(0));
+                        gravados.accept(um);
+                    });
+                    gravado[i] = true;
+                } catch (DuplicateKeyException dup) {
+                    gravado[i] = false;
+                }
+            }
+        }
+        return gravado;
+    }
+
+    /**
+     * Como {@link #insertAllSkippingDuplicates}, mas só entram votos cuja sessão ainda está ABERTA e
+     * cujo {@code createdAt} é anterior ao closesAt (ENCERRADA no resultado). Para gravação adiada (group
+     * commit): um lote que chega ao banco depois do congelamento não grava voto fora do resultado_final.
+     * @return CRIADO, DUPLICADO ou ENCERRADA para cada voto
+     */
+    public Admissao[] insertAllSeAberta(List<Voto> votos, Consumer<List<Voto>> gravados) {
+        Admissao[] r = new Admissao[votos.size()];
+        try {
+            tx.executeWithoutResult(st -> {
+                Map<UUID, Instant> abertas = sessoesAbertas(votos);
+                List<Voto> entram = new ArrayList<>(votos.size());
+                for (int i = 0; i < votos.size(); i++) {
+                    r[i] = dentroDaJanela(votos.get(i), abertas) ? Admissao.CRIADO : Admissao.ENCERRADA;
+                    if (r[i] == Admissao.CRIADO) entram.add(votos.get(i));
+                }
+                if (entram.isEmpty()) return;
+                insertAll(entram);
+                gravados.accept(entram);
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < votos.size(); i++) {
+                Voto v = votos.get(i);
+                try {
+                    r[i] = tx.execute(st -> {
+                        if (!dentroDaJanela(v, sessoesAbertas(List.of(v)))) return Admissao.ENCERRADA;
+                        insert(v);
+                        gravados.accept(List.of(v));
+                        return Admissao.CRIADO;
+                    });
+                } catch (DuplicateKeyException dup) {
+                    r[i] = Admissao.DUPLICADO;
+                }
+            }
+        }
+        return r;
+    }
+
+    private Map<UUID, Instant> sessoesAbertas(List<Voto> votos) {
+        Set<UUID> pautas = new LinkedHashSet<>();
+        for (Voto v : votos) pautas.add(v.getPautaId());
+        String sql = String.format(SESSOES_ABERTAS_SQL, String.join(",", Collections.nCopies(pautas.size(), "?")));
+        Map<UUID, Instant> abertas = new HashMap<>();
+        jdbc.query(sql, rs -> {
+            ByteBuffer b = ByteBuffer.wrap(rs.getBytes(1));
+            abertas.put(new UUID(b.getLong(), b.getLong()),
+                    rs.getObject(2, LocalDateTime.class).toInstant(ZoneOffset.UTC));
+        }, pautas.stream().map(VotoBatchRepository::toBytes).toArray());
+        return abertas;
+    }
+
+    private static boolean dentroDaJanela(Voto v, Map<UUID, Instant> abertas) {
+        Instant fecha = abertas.get(v.getPautaId());
+        return fecha != null && v.getCreatedAt().isBefore(fecha);
+    }
+
+    /** Insere todos os votos num único batch; qualquer violação de UNIQUE derruba o lote inteiro. */
+    public void insertAll(List<Voto> votos) {
+        jdbc.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, votos.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return votos.size();
+            }
+        });
+    }
+
+    /**
+     * Checagem da sessão e INSERT num único comando (na transação de quem chama): 1 linha afetada =
+     * voto criado. Dois votos do mesmo CPF passando juntos pelo NOT EXISTS: o segundo bate na PK e é
+     * DUPLICADO. Só se nada entrou vai uma consulta a mais para dizer se foi CPF repetido ou sessão
+     * fechada (sessão fechada tem precedência, como na checagem do service); sessão aberta sem voto
+     * anterior e 0 linhas não tem explicação e é erro.
+     */
+    public Admissao admitir(Voto v) {
+        byte[] pauta = toBytes(v.getPautaId());
+        LocalDateTime agora = LocalDateTime.ofInstant(v.getCreatedAt(), ZoneOffset.UTC);
+        int n;
+        try {
+            n = jdbc.update(ADMITIR_SQL, ps -> {
+                ps.setLong(1, v.getCpf());
+                ps.setString(2, v.getOpcao().name());
+                ps.setObject(3, agora);
+                ps.setBytes(4, pauta);
+                ps.setObject(5, agora);
+                ps.setLong(6, v.getCpf());
+            });
+        } catch (DuplicateKeyException e) {
+            return Admissao.DUPLICADO;
+        }
+        if (n == 1) return Admissao.CRIADO;
+        List<Admissao> motivo = jdbc.query(MOTIVO_SQL, (rs, i) -> {
+            boolean aberta = "ABERTA".equals(rs.getString(1)) && rs.getBoolean(2);
+            if (!aberta) return Admissao.ENCERRADA;
+            if (rs.getBoolean(3)) return Admissao.DUPLICADO;
+            throw new IllegalStateException("Voto não inserido com sessão aberta e sem voto anterior (pauta "
+                    + v.getPautaId() + ")");
+        }, agora, v.getCpf(), pauta);
+        return motivo.isEmpty() ? Admissao.ENCERRADA : motivo.get(0);
+    }
+
+    public void insert(Voto v) {
+        jdbc.update(INSERT_SQL, ps -> bind(ps, v));
+    }
+
+    private static void bind(PreparedStatement ps, Voto v) throws SQLException {
+        ps.setBytes(1, toBytes(v.getPautaId()));
+        ps.setLong(2, v.getCpf());
+        ps.setString(3, v.getOpcao().name());
+        // mesmo fuso do hibernate.jdbc.time_zone
+        ps.setObject(4, LocalDateTime.ofInstant(v.getCreatedAt(), ZoneOffset.UTC));
+    }
+
+    public static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.votacao.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leitura dos votos de uma pauta para o export ({@code voto_arquivo} e {@code voto}), sem passar pelo
+ * JPA (nada vai para o contexto de persistência): cursor forward-only, read-only, buscando
+ * {@code fetch-size} linhas por ida ao banco, na ordem da PK (pauta_id, cpf) de cada tabela, sem sort.
+ * No MySQL o fetch size só vale com {@code useCursorFetch=true} na URL; sem isso o driver traz o
+ * resultado inteiro para a memória.
+ */
+@Repository
+public class VotoExportRepository {
+
+    // arquivados primeiro: o arquivamento move dos menores CPFs para os maiores, então a saída segue a
+    // ordem de CPF mesmo com a pauta no meio do caminho
+    static final String SQL_ARQUIVO = "SELECT cpf, " + VotoArquivoRepository.ORDINAL_PARA_OPCAO
+            + ", created_at FROM voto_arquivo WHERE pauta_id = ? ORDER BY cpf";
+    static final String SQL_VOTO = "SELECT cpf, opcao, created_at FROM voto WHERE pauta_id = ? ORDER BY cpf";
+
+    private final JdbcTemplate jdbc;
+    private final int fetchSize;
+
+    public VotoExportRepository(JdbcTemplate jdbc, @Value("${votacao.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Chama {@code linha} para cada voto (colunas: cpf, opcao, created_at), à medida que chegam. As duas
+     * consultas precisam rodar na mesma transação: no REPEATABLE READ do InnoDB elas veem o mesmo
+     * snapshot, e um lote arquivado entre uma e outra não some nem sai duplicado.
+     */
+    public void percorrer(UUID pautaId, RowCallbackHandler linha) {
+        byte[] id = VotoBatchRepository.toBytes(pautaId);
+        for (String sql : new String[] { SQL_ARQUIVO, SQL_VOTO }) {
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setBytes(1, id);
+                return ps;
+            }, linha);
+        }
+    }
+}
@@ -7,14 +7,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import com.example.votacao.domain.Voto;
-import com.example.votacao.dto.enums.OpcaoVoto;
 
-public interface VotoRepository extends JpaRepository<Voto, UUID> {
+public interface VotoRepository extends JpaRepository<Voto, Voto.Chave> {
 
-    
-    boolean existsByPautaIdAndCpf(UUID pautaId, String cpf);  
-    long countByPautaIdAndOpcao(UUID pautaId, com.example.votacao.dto.enums.OpcaoVoto opcao);
+    // usado só na subida, para reconstruir o placar em memória (VotoTally)
+    @Query("SELECT v.pautaId, v.opcao, COUNT(v) FROM Voto v GROUP BY v.pautaId, v.opcao")
+    List<Object[]> countGroupByPautaAndOpcao();
 
+    // usado uma vez, no encerramento da sessão, para congelar o placar final
     @Query("SELECT v.opcao, COUNT(v) FROM Voto v WHERE v.pautaId = :pautaId GROUP BY v.opcao")
     List<Object[]> countByOpcao(UUID pautaId);
 }
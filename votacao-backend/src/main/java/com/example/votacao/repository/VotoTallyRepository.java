@@ -0,0 +1,81 @@
+package com.example.votacao.repository;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+
+/**
+ * Shards do placar ({@code voto_tally}) via JDBC. O incremento é um upsert numa linha só
+ * (pauta, opcao, shard), feito na transação de quem chama.
+ */
+@Repository
+public class VotoTallyRepository {
+
+    /** Linha agregada: soma dos shards ou COUNT em voto, conforme a consulta. */
+    public record Linha(UUID pautaId, OpcaoVoto opcao, long total) {}
+
+    static final String INCREMENTAR_SQL = "INSERT INTO voto_tally (pauta_id, opcao, shard, total) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE total = total + ?";
+
+    private final JdbcTemplate jdbc;
+
+    public VotoTallyRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void incrementar(UUID pautaId, OpcaoVoto opcao, int shard, long quantidade) {
+        jdbc.update(INCREMENTAR_SQL, ps -> {
+            ps.setBytes(1, VotoBatchRepository.toBytes(pautaId));
+            ps.setString(2, opcao.name());
+            ps.setInt(3, shard);
+            ps.setLong(4, quantidade);
+            ps.setLong(5, quantidade);
+        });
+    }
+
+    /** SUM dos shards de uma pauta, por opção. */
+    public List<Linha> somar(UUID pautaId) {
+        return jdbc.query("SELECT opcao, SUM(total) FROM voto_tally WHERE pauta_id = ? GROUP BY opcao",
+                (rs, i) -> new Linha(pautaId, OpcaoVoto.valueOf(rs.getString(1)), rs.getLong(2)),
+                (Object) VotoBatchRepository.toBytes(pautaId));
+    }
+
+    /** Shards de uma pauta travados (FOR UPDATE) até o fim da transação: votos novos nela esperam. */
+    public List<Linha> travarShards(UUID pautaId) {
+        return jdbc.query("SELECT opcao, total FROM voto_tally WHERE pauta_id = ? FOR UPDATE",
+                (rs, i) -> new Linha(pautaId, OpcaoVoto.valueOf(rs.getString(1)), rs.getLong(2)),
+                (Object) VotoBatchRepository.toBytes(pautaId));
+    }
+
+    // pautas encerradas ficam de fora das duas: o placar delas é o resultado_final, e o arquivamento
+    // esvazia voto antes de apagar os shards
+
+    public List<Linha> somarTodas() {
+        return jdbc.query("SELECT pauta_id, opcao, SUM(total) FROM voto_tally "
+                + "WHERE pauta_id NOT IN (SELECT pauta_id FROM resultado_final) GROUP BY pauta_id, opcao",
+                (rs, i) -> new Linha(toUuid(rs.getBytes(1)), OpcaoVoto.valueOf(rs.getString(2)), rs.getLong(3)));
+    }
+
+    // fonte da verdade para a reconciliação
+    public List<Linha> contarVotos(UUID pautaId) {
+        return jdbc.query("SELECT opcao, COUNT(*) FROM voto WHERE pauta_id = ? GROUP BY opcao",
+                (rs, i) -> new Linha(pautaId, OpcaoVoto.valueOf(rs.getString(1)), rs.getLong(2)),
+                (Object) VotoBatchRepository.toBytes(pautaId));
+    }
+
+    public List<Linha> contarTodosVotos() {
+        return jdbc.query("SELECT pauta_id, opcao, COUNT(*) FROM voto "
+                + "WHERE pauta_id NOT IN (SELECT pauta_id FROM resultado_final) GROUP BY pauta_id, opcao",
+                (rs, i) -> new Linha(toUuid(rs.getBytes(1)), OpcaoVoto.valueOf(rs.getString(2)), rs.getLong(3)));
+    }
+
+    private static UUID toUuid(byte[] b) {
+        ByteBuffer bb = ByteBuffer.wrap(b);
+        return new UUID(bb.getLong(), bb.getLong());
+    }
+}
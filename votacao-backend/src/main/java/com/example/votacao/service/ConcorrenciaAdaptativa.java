@@ -0,0 +1,57 @@
+package com.example.votacao.service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Controle de admissão na frente dos endpoints: um {@link LimiteAdaptativo} por classe, para o polling
+ * de resultado não tomar a vez do voto. Configuração em {@code votacao.http.limite.<classe>.*}
+ * ({@code inicial}, {@code min}, {@code max}, {@code fila}, {@code espera-ms}); {@code enabled=false}
+ * desliga.
+ * <p>
+ * Métricas: {@code votacao.http.limite{classe}}, {@code votacao.http.em_voo{classe}},
+ * {@code votacao.http.fila{classe}} e {@code votacao.http.recusadas{classe}} (429).
+ */
+@Component
+public class ConcorrenciaAdaptativa {
+
+    public enum Classe { VOTO, RESULTADO }
+
+    private final boolean enabled;
+    private final Map<Classe, LimiteAdaptativo> limites = new EnumMap<>(Classe.class);
+
+    public ConcorrenciaAdaptativa(Environment env, MeterRegistry registry) {
+        this.enabled = env.getProperty("votacao.http.limite.enabled", Boolean.class, true);
+        long retryAfter = env.getProperty("votacao.http.limite.retry-after-seconds", Long.class, 1L);
+        for (Classe c : Classe.values()) {
+            String tag = c.name().toLowerCase(Locale.ROOT);
+            String p = "votacao.http.limite." + tag + ".";
+            LimiteAdaptativo l = new LimiteAdaptativo(tag,
+                    env.getProperty(p + "inicial", Integer.class, 20),
+                    env.getProperty(p + "min", Integer.class, 2),
+                    env.getProperty(p + "max", Integer.class, 200),
+                    env.getProperty(p + "fila", Integer.class, 50),
+                    env.getProperty(p + "espera-ms", Long.class, 50L),
+                    retryAfter);
+            limites.put(c, l);
+            FunctionCounter.builder("votacao.http.recusadas", l, LimiteAdaptativo::recusadas).tag("classe", tag)
+                    .register(registry);
+            Gauge.builder("votacao.http.limite", l, LimiteAdaptativo::limite).tag("classe", tag).register(registry);
+            Gauge.builder("votacao.http.em_voo", l, LimiteAdaptativo::emVoo).tag("classe", tag).register(registry);
+            Gauge.builder("votacao.http.fila", l, LimiteAdaptativo::esperando).tag("classe", tag).register(registry);
+        }
+    }
+
+    public <T> T executar(Classe classe, Supplier<T> chamada) {
+        return enabled ? limites.get(classe).executar(chamada) : chamada.get();
+    }
+}
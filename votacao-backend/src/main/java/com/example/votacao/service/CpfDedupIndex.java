@@ -0,0 +1,119 @@
+package com.example.votacao.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.repository.VotoBatchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Quem já votou" em memória, por pauta com sessão aberta: um {@link LongHashSet} de CPFs
+ * (11 dígitos cabem num long) dividido em faixas com lock próprio. Carregado sob demanda da tabela
+ * {@code voto} no primeiro voto da pauta (pelo {@link DbBulkhead}) e descartado quando a sessão encerra.
+ * A UNIQUE (pauta_id, cpf) continua valendo como rede de segurança (ex.: votos vindos de outra réplica).
+ */
+@Slf4j
+@Component
+public class CpfDedupIndex {
+
+    private static final int FAIXAS = 16;
+
+    private static final class Indice {
+        final LongHashSet[] faixas = new LongHashSet[FAIXAS];
+
+        Indice() {
+            for (int i = 0; i < FAIXAS; i++) faixas[i] = new LongHashSet();
+        }
+
+        LongHashSet faixa(long cpf) {
+            return faixas[(int) ((cpf * 0x9E3779B97F4A7C15L) >>> 60)];
+        }
+
+        long memoriaBytes() {
+            long total = 0;
+            for (LongHashSet f : faixas) {
+                synchronized (f) { total += f.memoriaBytes(); }
+            }
+            return total;
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final DbBulkhead bulkhead;
+    private final Map<UUID, CompletableFuture<Indice>> indices = new ConcurrentHashMap<>();
+
+    public CpfDedupIndex(JdbcTemplate jdbc, DbBulkhead bulkhead) {
+        this.jdbc = jdbc;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Reserva o CPF na pauta antes do insert.
+     * @return false se o CPF já votou (ou tem voto em andamento) nesta pauta.
+     */
+    public boolean reservar(UUID pautaId, long cpf) {
+        LongHashSet f = indice(pautaId).faixa(cpf);
+        synchronized (f) {
+            return f.add(cpf);
+        }
+    }
+
+    /** Desfaz a reserva de um voto que não foi gravado. */
+    public void liberar(UUID pautaId, long cpf) {
+        CompletableFuture<Indice> futuro = indices.get(pautaId);
+        if (futuro == null || !futuro.isDone() || futuro.isCompletedExceptionally()) return;
+        LongHashSet f = futuro.join().faixa(cpf);
+        synchronized (f) {
+            f.remove(cpf);
+        }
+    }
+
+    /** Sessão encerrada: ninguém mais vota, a memória pode ser devolvida. */
+    public void descartar(UUID pautaId) {
+        indices.remove(pautaId);
+    }
+
+    public long memoriaBytes(UUID pautaId) {
+        CompletableFuture<Indice> futuro = indices.get(pautaId);
+        return futuro == null || !futuro.isDone() ? 0 : futuro.join().memoriaBytes();
+    }
+
+    private Indice indice(UUID pautaId) {
+        CompletableFuture<Indice> futuro = indices.get(pautaId);
+        if (futuro == null) {
+            // só uma thread carrega; as demais esperam pelo mesmo futuro
+            CompletableFuture<Indice> novo = new CompletableFuture<>();
+            futuro = indices.putIfAbsent(pautaId, novo);
+            if (futuro == null) {
+                futuro = novo;
+                try {
+                    novo.complete(carregar(pautaId));
+                } catch (RuntimeException e) {
+                    indices.remove(pautaId, novo);
+                    novo.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return futuro.join();
+    }
+
+    private Indice carregar(UUID pautaId) {
+        Indice indice = new Indice();
+        // pauta fria com muitos votos segura a conexão pelo scan inteiro: entra na conta do bulkhead
+        bulkhead.executar(() -> jdbc.query("SELECT cpf FROM voto WHERE pauta_id = ?",
+                ps -> ps.setBytes(1, VotoBatchRepository.toBytes(pautaId)),
+                rs -> {
+                    long cpf = rs.getLong(1);
+                    indice.faixa(cpf).add(cpf);
+                }));
+        log.debug("Índice de CPFs carregado para pauta {}", pautaId);
+        return indice;
+    }
+}
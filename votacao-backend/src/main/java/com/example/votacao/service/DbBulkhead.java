@@ -0,0 +1,83 @@
+package com.example.votacao.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bulkhead na frente do acesso ao banco nos services: no máximo {@code permits} chamadas ao mesmo
+ * tempo (por padrão o tamanho do pool do Hikari). Quem passa do limite espera no semáforo, o que com
+ * virtual threads é barato, e desiste com 503 depois de {@code wait-ms} em vez de ficar preso na fila
+ * do pool de conexões.
+ * <p>
+ * Deve envolver a transação inteira (a conexão é pega no início dela). Chamadas aninhadas na mesma
+ * thread reaproveitam a permissão de fora.
+ */
+@Component
+public class DbBulkhead {
+
+    private final Semaphore permits;
+    private final long waitMs;
+    private final Timer espera;
+    private final Counter recusadas;
+    private final ThreadLocal<Boolean> dentro = ThreadLocal.withInitial(() -> false);
+
+    public DbBulkhead(@Value("${votacao.db.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${votacao.db.bulkhead.wait-ms:2000}") long waitMs, MeterRegistry registry) {
+        this.permits = new Semaphore(Math.max(1, permits), true);
+        this.waitMs = waitMs;
+        this.espera = Timer.builder("votacao.db.bulkhead.espera").register(registry);
+        this.recusadas = Counter.builder("votacao.db.bulkhead.recusadas").register(registry);
+        Gauge.builder("votacao.db.bulkhead.disponiveis", this.permits, Semaphore::availablePermits).register(registry);
+    }
+
+    public <T> T executar(Supplier<T> acesso) {
+        if (dentro.get()) return acesso.get();
+        adquirir();
+        dentro.set(true);
+        try {
+            return acesso.get();
+        } finally {
+            dentro.set(false);
+            permits.release();
+        }
+    }
+
+    public void executar(Runnable acesso) {
+        executar(() -> {
+            acesso.run();
+            return null;
+        });
+    }
+
+    public int disponiveis() {
+        return permits.availablePermits();
+    }
+
+    private void adquirir() {
+        long inicio = System.nanoTime();
+        try {
+            // caminho comum (há permissão livre) não espera nem mede
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) return;
+            boolean ok = permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (!ok) {
+                recusadas.increment();
+                throw new ServiceUnavailableException("Banco ocupado, tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Acesso ao banco interrompido");
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.votacao.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.votacao.client.CircuitBreaker;
+import com.example.votacao.client.CpfEligibilityClient;
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.exception.ForbiddenException;
+import com.example.votacao.exception.NotFoundException;
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.exception.UnprocessableException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Elegibilidade do CPF na API externa, na frente do {@link CpfEligibilityClient}:
+ * <ul>
+ * <li>cache com TTL por CPF (a resposta muda raramente durante uma sessão);</li>
+ * <li>consultas concorrentes do mesmo CPF viram uma só chamada (o {@link AsyncCache} guarda o futuro em voo);</li>
+ * <li>circuit breaker: com a API fora do ar, falha rápido em vez de segurar threads até o timeout,
+ *     e aplica a política {@code cpf.check.fail-open} (true = deixa votar, false = 503).</li>
+ * </ul>
+ * Falhas não entram no cache.
+ */
+@Slf4j
+@Service
+public class ElegibilidadeService {
+
+    public enum Veredito { APTO, INAPTO, CPF_INVALIDO }
+
+    private final CpfEligibilityClient client;
+    private final boolean enabled;
+    private final boolean failOpen;
+    private final long esperaMs;
+    private final CircuitBreaker breaker;
+    private final AsyncCache<Long, Veredito> cache;
+    private final Map<Veredito, Timer> latencia = new EnumMap<>(Veredito.class);
+    private final Timer latenciaErro;
+    private final Counter circuitoRecusou;
+
+    public ElegibilidadeService(CpfEligibilityClient client,
+            @Value("${cpf.check.enabled:false}") boolean enabled,
+            @Value("${cpf.check.fail-open:false}") boolean failOpen,
+            @Value("${cpf.check.timeout-ms:1000}") long timeoutMs,
+            @Value("${cpf.check.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cpf.check.cache.max-size:100000}") long maxSize,
+            @Value("${cpf.check.circuit.failure-threshold:5}") int limiteFalhas,
+            @Value("${cpf.check.circuit.open-ms:10000}") long aberturaMs,
+            MeterRegistry registry) {
+        this.client = client;
+        this.enabled = enabled;
+        this.failOpen = failOpen;
+        // folga sobre o timeout do client para não cortar uma resposta que já está chegando
+        this.esperaMs = timeoutMs + 500;
+        this.breaker = new CircuitBreaker(limiteFalhas, aberturaMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+
+        // latência da chamada externa (só as que saem de fato; acertos de cache não contam)
+        for (Veredito v : Veredito.values()) {
+            latencia.put(v, Timer.builder("votacao.elegibilidade.consulta").tag("resultado", v.name().toLowerCase())
+                    .register(registry));
+        }
+        latenciaErro = Timer.builder("votacao.elegibilidade.consulta").tag("resultado", "erro").register(registry);
+        circuitoRecusou = Counter.builder("votacao.elegibilidade.circuito.recusadas").register(registry);
+        Gauge.builder("votacao.elegibilidade.circuito.estado", breaker, b -> b.estado().ordinal())
+                .description("0 = fechado, 1 = aberto, 2 = meio-aberto").register(registry);
+        CaffeineCacheMetrics.monitor(registry, cache, "elegibilidade");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Veredito sem bloquear: vem do cache, de uma consulta já em voo para o mesmo CPF ou de uma nova.
+     * Com a API indisponível (erro, timeout ou circuito aberto) resolve pela política de fail-open.
+     */
+    public CompletableFuture<Veredito> verificar(long cpf) {
+        if (!enabled) return CompletableFuture.completedFuture(Veredito.APTO);
+        return cache.get(cpf, (k, executor) -> consultar(k))
+                .handle((v, erro) -> erro == null ? v : indisponivel(erro));
+    }
+
+    /**
+     * Versão síncrona para o caminho do voto: 403 inapto, 422 CPF inexistente, 503 API fora (fail-closed).
+     * Bloqueia a thread do servlet de propósito (a pilha é MVC): a espera é limitada ao timeout do client
+     * mais a folga, o circuito aberto responde na hora e o acerto de cache não espera; quem quiser não
+     * bloquear usa {@link #verificar}, como o lote.
+     */
+    public void exigirApto(long cpf) {
+        if (!enabled) return;
+        Veredito v;
+        try {
+            v = verificar(cpf).get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            v = indisponivel(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Consulta de elegibilidade interrompida");
+        }
+        switch (v) {
+            case INAPTO -> throw new ForbiddenException("Associado não está apto a votar");
+            case CPF_INVALIDO -> throw new UnprocessableException("CPF inválido");
+            case APTO -> { }
+        }
+    }
+
+    public CircuitBreaker.Estado estadoCircuito() {
+        return breaker.estado();
+    }
+
+    private CompletableFuture<Veredito> consultar(long cpf) {
+        if (!breaker.permitir()) {
+            circuitoRecusou.increment();
+            return CompletableFuture.failedFuture(new ServiceUnavailableException("Circuito de elegibilidade aberto"));
+        }
+        long inicio = System.nanoTime();
+        return client.checkAsync(Cpf.formatar(cpf))
+                .map(r -> r.status() == CpfEligibilityClient.Status.ABLE_TO_VOTE ? Veredito.APTO : Veredito.INAPTO)
+                .onErrorResume(NotFoundException.class, e -> Mono.just(Veredito.CPF_INVALIDO))
+                .doOnSuccess(v -> {
+                    breaker.sucesso();
+                    latencia.get(v).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                })
+                .doOnError(e -> {
+                    breaker.falha();
+                    latenciaErro.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                })
+                .toFuture();
+    }
+
+    private Veredito indisponivel(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (failOpen) {
+            log.warn("Elegibilidade indisponível ({}), liberando voto (fail-open)", causa.toString());
+            return Veredito.APTO;
+        }
+        throw new ServiceUnavailableException("Serviço de elegibilidade indisponível");
+    }
+}
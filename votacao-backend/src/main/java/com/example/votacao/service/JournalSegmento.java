@@ -0,0 +1,159 @@
+package com.example.votacao.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.dto.enums.OpcaoVoto;
+
+/**
+ * Um arquivo do journal de votos, mapeado em memória e com tamanho fixo. Entradas de 64 bytes
+ * (alinhadas, uma nunca cruza página), a i-ésima com seq = {@code primeiroSeq + i}:
+ * <pre>
+ *  0 int  MAGIC          8 long seq       16 long pauta (msb)  24 long pauta (lsb)
+ *  4 int  crc32c(8..49) 32 long cpf       40 long createdAt (µs) 48 byte opcao
+ * </pre>
+ * Entrada com magic ou CRC errados (ou seq fora da sequência) marca o fim: é a escrita interrompida
+ * por uma queda, e a próxima escrita passa por cima dela.
+ */
+final class JournalSegmento {
+
+    static final int TAMANHO_ENTRADA = 64;
+    private static final int MAGIC = 0x564F544F; // "VOTO"
+    private static final int CORPO = 8;
+    private static final int TAMANHO_CORPO = 41;
+    private static final OpcaoVoto[] OPCOES = OpcaoVoto.values();
+
+    final Path arquivo;
+    final long primeiroSeq;
+    final int capacidade;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+
+    private JournalSegmento(Path arquivo, long primeiroSeq, int capacidade) throws IOException {
+        this.arquivo = arquivo;
+        this.primeiroSeq = primeiroSeq;
+        this.capacidade = capacidade;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacidade * TAMANHO_ENTRADA);
+    }
+
+    static JournalSegmento abrir(Path dir, long primeiroSeq, int capacidade) throws IOException {
+        return new JournalSegmento(dir.resolve(nome(primeiroSeq)), primeiroSeq, capacidade);
+    }
+
+    /** Segmento existente: a capacidade vem do tamanho do arquivo (pode ter sido criado com outra config). */
+    static JournalSegmento existente(Path arquivo) throws IOException {
+        String n = arquivo.getFileName().toString();
+        long primeiroSeq = Long.parseLong(n.substring("votos-".length(), n.length() - ".jrnl".length()));
+        int capacidade = (int) (Files.size(arquivo) / TAMANHO_ENTRADA);
+        return new JournalSegmento(arquivo, primeiroSeq, capacidade);
+    }
+
+    static String nome(long primeiroSeq) {
+        return String.format("votos-%020d.jrnl", primeiroSeq);
+    }
+
+    static boolean ehSegmento(Path p) {
+        String n = p.getFileName().toString();
+        return n.startsWith("votos-") && n.endsWith(".jrnl");
+    }
+
+    long ultimoSeq() {
+        return primeiroSeq + capacidade - 1;
+    }
+
+    /** Escreve a entrada de {@code seq} (sem forçar para o disco); só o dono do lock de escrita chama. */
+    void escrever(long seq, Voto v) {
+        int base = posicao(seq);
+        mapa.putLong(base + 8, seq);
+        mapa.putLong(base + 16, v.getPautaId().getMostSignificantBits());
+        mapa.putLong(base + 24, v.getPautaId().getLeastSignificantBits());
+        mapa.putLong(base + 32, v.getCpf());
+        Instant t = v.getCreatedAt();
+        mapa.putLong(base + 40, t.getEpochSecond() * 1_000_000L + t.getNano() / 1_000);
+        mapa.put(base + 48, (byte) v.getOpcao().ordinal());
+        mapa.putInt(base + 4, crc(base));
+        mapa.putInt(base, MAGIC);
+    }
+
+    /** msync das páginas das entradas {@code [de, ate)} deste segmento. */
+    void forcar(long de, long ate) {
+        long inicio = Math.max(de, primeiroSeq);
+        long fim = Math.min(ate, ultimoSeq() + 1);
+        if (inicio < fim) mapa.force(posicao(inicio), (int) (fim - inicio) * TAMANHO_ENTRADA);
+    }
+
+    /** A entrada de {@code seq} está inteira (magic, seq e CRC conferem)? */
+    boolean valida(long seq) {
+        int base = posicao(seq);
+        return mapa.getInt(base) == MAGIC && mapa.getLong(base + 8) == seq && mapa.getInt(base + 4) == crc(base);
+    }
+
+    Voto ler(long seq) {
+        int base = posicao(seq);
+        Voto v = new Voto();
+        v.setPautaId(new UUID(mapa.getLong(base + 16), mapa.getLong(base + 24)));
+        v.setCpf(mapa.getLong(base + 32));
+        long micros = mapa.getLong(base + 40);
+        v.setCreatedAt(Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L));
+        v.setOpcao(OPCOES[mapa.get(base + 48)]);
+        return v;
+    }
+
+    /** Quantas entradas válidas seguidas há desde o início (usado na subida). */
+    int contarValidas() {
+        int n = 0;
+        while (n < capacidade && valida(primeiroSeq + n)) n++;
+        return n;
+    }
+
+    /** Entradas válidas a partir da posição {@code i} (depois de um buraco: escritas que nunca foram confirmadas). */
+    int contarValidasDesde(int i) {
+        int n = 0;
+        for (; i < capacidade; i++) if (valida(primeiroSeq + i)) n++;
+        return n;
+    }
+
+    /**
+     * Zera (e força) as entradas com magic a partir da posição {@code i}: depois de uma queda, o slot do
+     * buraco é reaproveitado e uma entrada velha logo adiante voltaria a parecer continuação do journal.
+     * @return quantas entradas foram zeradas
+     */
+    int zerarDesde(int i) {
+        int zeradas = 0;
+        int primeira = -1;
+        int ultima = -1;
+        for (; i < capacidade; i++) {
+            int base = i * TAMANHO_ENTRADA;
+            if (mapa.getInt(base) == 0) continue;
+            for (int b = 0; b < TAMANHO_ENTRADA; b += 8) mapa.putLong(base + b, 0L);
+            if (primeira < 0) primeira = base;
+            ultima = base;
+            zeradas++;
+        }
+        if (zeradas > 0) mapa.force(primeira, ultima - primeira + TAMANHO_ENTRADA);
+        return zeradas;
+    }
+
+    void fechar() throws IOException {
+        canal.close();
+    }
+
+    private int posicao(long seq) {
+        return (int) (seq - primeiroSeq) * TAMANHO_ENTRADA;
+    }
+
+    private int crc(int base) {
+        CRC32C c = new CRC32C();
+        c.update(mapa.slice(base + CORPO, TAMANHO_CORPO));
+        return (int) c.getValue();
+    }
+}
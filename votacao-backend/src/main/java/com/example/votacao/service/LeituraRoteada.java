@@ -0,0 +1,46 @@
+package com.example.votacao.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Leituras que podem ir para a réplica: rodam numa transação read-only com o nome {@link #TRANSACAO},
+ * que é o que o roteamento de datasource olha. Só o read-only não basta: os métodos CRUD do Spring Data
+ * já abrem transação read-only, e o caminho do voto (janela da sessão, por exemplo) precisa ler da
+ * primária. Com a réplica em dia não ocupam permissão do {@link DbBulkhead}, que protege o pool da
+ * primária; senão passam por ele como qualquer acesso.
+ */
+@Component
+public class LeituraRoteada {
+
+    public static final String TRANSACAO = "leitura-replica";
+
+    private final DbBulkhead bulkhead;
+    private final ReplicaMonitor replica;
+    private final TransactionTemplate somenteLeitura;
+
+    public LeituraRoteada(DbBulkhead bulkhead, ReplicaMonitor replica, PlatformTransactionManager tm) {
+        this.bulkhead = bulkhead;
+        this.replica = replica;
+        this.somenteLeitura = new TransactionTemplate(tm);
+        this.somenteLeitura.setReadOnly(true);
+        this.somenteLeitura.setName(TRANSACAO);
+    }
+
+    public <T> T executar(Supplier<T> leitura) {
+        if (replica.utilizavel()) return somenteLeitura.execute(st -> leitura.get());
+        return bulkhead.executar(() -> somenteLeitura.execute(st -> leitura.get()));
+    }
+
+    /** Direto na primária, para quando a réplica pode não ter o dado ainda. */
+    public <T> T naPrimaria(Supplier<T> leitura) {
+        return bulkhead.executar(leitura);
+    }
+
+    public boolean naReplica() {
+        return replica.utilizavel();
+    }
+}
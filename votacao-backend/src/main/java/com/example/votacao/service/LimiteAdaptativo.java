@@ -0,0 +1,180 @@
+package com.example.votacao.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.exception.TooManyRequestsException;
+
+/**
+ * Limite de concorrência adaptativo (gradiente de latência, no estilo do Gradient2 do Netflix
+ * concurrency-limits). A cada janela de amostras compara a latência recente com a média longa:
+ * <pre>
+ *   gradiente = clamp(tolerancia * rttLongo / rttCurto, 0.5, 1)
+ *   novo      = limite * gradiente + sqrt(limite)
+ * </pre>
+ * Latência subindo (fila no pool do banco) derruba o limite; estável, ele cresce devagar, e só se
+ * estiver sendo usado. O excedente espera até {@code esperaMs} numa fila de no máximo {@code fila}
+ * chamadas; fila cheia ou espera esgotada vira 429 na hora, sem prender thread.
+ */
+public final class LimiteAdaptativo {
+
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+    private static final int AMOSTRAS_POR_JANELA = 50;
+    private static final long JANELA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String nome;
+    private final int minimo;
+    private final int maximo;
+    private final int fila;
+    private final long esperaNanos;
+    private final long retryAfterSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition liberou = lock.newCondition();
+    private double limite;
+    private int emVoo;
+    private int esperando;
+    private int picoNaJanela;
+    private double rttLongo;
+    private double somaJanela;
+    private int amostrasJanela;
+    private long inicioJanela = System.nanoTime();
+    private final LongAdder recusadas = new LongAdder();
+
+    public LimiteAdaptativo(String nome, int inicial, int minimo, int maximo, int fila, long esperaMs,
+            long retryAfterSeconds) {
+        this.nome = nome;
+        this.minimo = Math.max(1, minimo);
+        this.maximo = Math.max(this.minimo, maximo);
+        this.limite = Math.min(this.maximo, Math.max(this.minimo, inicial));
+        this.fila = Math.max(0, fila);
+        this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, esperaMs));
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        adquirir();
+        long inicio = System.nanoTime();
+        boolean sobrecarga = false;
+        try {
+            return chamada.get();
+        } catch (ServiceUnavailableException e) {
+            // bulkhead/pool esgotado lá dentro: o limite estava alto demais
+            sobrecarga = true;
+            throw e;
+        } finally {
+            liberar(System.nanoTime() - inicio, sobrecarga);
+        }
+    }
+
+    public int limite() {
+        lock.lock();
+        try {
+            return (int) limite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int emVoo() {
+        lock.lock();
+        try {
+            return emVoo;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int esperando() {
+        lock.lock();
+        try {
+            return esperando;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adquirir() {
+        lock.lock();
+        try {
+            if (emVoo < (int) limite) {
+                entrar();
+                return;
+            }
+            if (esperando >= fila || esperaNanos == 0) throw recusa();
+            esperando++;
+            try {
+                long restante = esperaNanos;
+                while (emVoo >= (int) limite) {
+                    if (restante <= 0) throw recusa();
+                    restante = liberou.awaitNanos(restante);
+                }
+                entrar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw recusa();
+            } finally {
+                esperando--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void entrar() {
+        emVoo++;
+        if (emVoo > picoNaJanela) picoNaJanela = emVoo;
+    }
+
+    private void liberar(long rttNanos, boolean sobrecarga) {
+        lock.lock();
+        try {
+            emVoo--;
+            if (sobrecarga) {
+                limite = Math.max(minimo, limite * 0.9);
+            } else {
+                somaJanela += rttNanos;
+                amostrasJanela++;
+                long agora = System.nanoTime();
+                if (amostrasJanela >= AMOSTRAS_POR_JANELA || agora - inicioJanela >= JANELA_NANOS) {
+                    recalcular();
+                    inicioJanela = agora;
+                }
+            }
+            liberou.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recalcular() {
+        double curto = somaJanela / amostrasJanela;
+        rttLongo = rttLongo == 0 ? curto : rttLongo * 0.95 + curto * 0.05;
+        // carga caiu bem: a média longa desce mais rápido para o limite voltar a subir
+        if (rttLongo > 2 * curto) rttLongo *= 0.95;
+
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * rttLongo / curto));
+        // sem uso perto do limite, latência boa não prova nada: não cresce
+        double folga = picoNaJanela < limite / 2 ? 0 : Math.sqrt(limite);
+        double novo = limite * gradiente + folga;
+        limite = Math.max(minimo, Math.min(maximo, limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO));
+
+        somaJanela = 0;
+        amostrasJanela = 0;
+        picoNaJanela = emVoo;
+    }
+
+    public long recusadas() {
+        return recusadas.sum();
+    }
+
+    private TooManyRequestsException recusa() {
+        recusadas.increment();
+        return new TooManyRequestsException("Muitas requisições em " + nome + ", tente novamente", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.votacao.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limite de taxa do {@code votar} por (pauta, CPF) e por (pauta, IP do cliente), antes de qualquer
+ * acesso ao banco: robô ou quiosque reenviando o mesmo CPF em loop recebe 429 em vez de 409.
+ * <p>
+ * Token bucket na forma GCRA: o estado de cada chave é um {@code long} (o instante teórico da próxima
+ * chegada) atualizado com CAS, sem lock. Chaves ficam num Caffeine limitado a {@code max-chaves} e saem
+ * depois de {@code ociosa-segundos} sem uso (o balde já estaria cheio de novo).
+ * <p>
+ * Padrões em {@code votacao.rate-limit.cpf|ip.{por-minuto,rajada}}; por pauta em
+ * {@code votacao.rate-limit.pautas.<pautaId>.cpf|ip.*}.
+ */
+@Component
+public class LimiteTaxaVotos {
+
+    /** Taxa de uma chave: {@code rajada} chamadas seguidas e depois uma a cada {@code intervaloNanos}. */
+    record Taxa(long intervaloNanos, long toleranciaNanos) {
+        static Taxa de(int porMinuto, int rajada) {
+            long intervalo = TimeUnit.MINUTES.toNanos(1) / Math.max(1, porMinuto);
+            return new Taxa(intervalo, intervalo * Math.max(1, rajada));
+        }
+    }
+
+    private record Limites(Taxa cpf, Taxa ip) {}
+
+    private record ChaveCpf(UUID pautaId, long cpf) {}
+
+    private record ChaveIp(UUID pautaId, String ip) {}
+
+    private final Environment env;
+    private final boolean enabled;
+    private final int cpfPorMinuto, cpfRajada, ipPorMinuto, ipRajada;
+    private final Cache<UUID, Limites> porPauta;
+    private final Cache<ChaveCpf, AtomicLong> cpfs;
+    private final Cache<ChaveIp, AtomicLong> ips;
+    private final Counter recusadasCpf;
+    private final Counter recusadasIp;
+
+    public LimiteTaxaVotos(Environment env, MeterRegistry registry) {
+        this.env = env;
+        this.enabled = env.getProperty("votacao.rate-limit.enabled", Boolean.class, true);
+        this.cpfPorMinuto = env.getProperty("votacao.rate-limit.cpf.por-minuto", Integer.class, 6);
+        this.cpfRajada = env.getProperty("votacao.rate-limit.cpf.rajada", Integer.class, 3);
+        this.ipPorMinuto = env.getProperty("votacao.rate-limit.ip.por-minuto", Integer.class, 600);
+        this.ipRajada = env.getProperty("votacao.rate-limit.ip.rajada", Integer.class, 100);
+        long maxChaves = env.getProperty("votacao.rate-limit.max-chaves", Long.class, 200_000L);
+        Duration ociosa = Duration.ofSeconds(env.getProperty("votacao.rate-limit.ociosa-segundos", Long.class, 300L));
+        this.porPauta = Caffeine.newBuilder().maximumSize(10_000).expireAfterAccess(ociosa).build();
+        this.cpfs = Caffeine.newBuilder().maximumSize(maxChaves).expireAfterAccess(ociosa).build();
+        this.ips = Caffeine.newBuilder().maximumSize(maxChaves).expireAfterAccess(ociosa).build();
+        this.recusadasCpf = Counter.builder("votacao.rate_limit.recusadas").tag("chave", "cpf").register(registry);
+        this.recusadasIp = Counter.builder("votacao.rate_limit.recusadas").tag("chave", "ip").register(registry);
+    }
+
+    /**
+     * Consome uma ficha do CPF e uma do IP na pauta; sem ficha, 429 com o tempo até a próxima.
+     * CPF malformado não ganha balde próprio (o serviço responde 422), mas ainda conta para o IP.
+     */
+    public void exigir(UUID pautaId, long cpf, String ip) {
+        if (!enabled) return;
+        Limites l = porPauta.get(pautaId, this::limitesDaPauta);
+        long agora = System.nanoTime();
+        long espera;
+        if (cpf != Cpf.INVALIDO) {
+            espera = consumir(cpfs.get(new ChaveCpf(pautaId, cpf), k -> new AtomicLong(agora)), l.cpf(), agora);
+            if (espera > 0) {
+                recusadasCpf.increment();
+                throw recusa("Muitas tentativas para este CPF", espera);
+            }
+        }
+        if (ip == null) return;
+        espera = consumir(ips.get(new ChaveIp(pautaId, ip), k -> new AtomicLong(agora)), l.ip(), agora);
+        if (espera > 0) {
+            recusadasIp.increment();
+            throw recusa("Muitas requisições deste endereço", espera);
+        }
+    }
+
+    /** @return 0 se consumiu; senão, nanos até haver ficha */
+    private static long consumir(AtomicLong tat, Taxa taxa, long agora) {
+        while (true) {
+            long atual = tat.get();
+            long proximo = Math.max(atual, agora) + taxa.intervaloNanos();
+            long excesso = proximo - agora - taxa.toleranciaNanos();
+            if (excesso > 0) return excesso;
+            if (tat.compareAndSet(atual, proximo)) return 0;
+        }
+    }
+
+    private Limites limitesDaPauta(UUID pautaId) {
+        String p = "votacao.rate-limit.pautas." + pautaId + ".";
+        return new Limites(
+                Taxa.de(env.getProperty(p + "cpf.por-minuto", Integer.class, cpfPorMinuto),
+                        env.getProperty(p + "cpf.rajada", Integer.class, cpfRajada)),
+                Taxa.de(env.getProperty(p + "ip.por-minuto", Integer.class, ipPorMinuto),
+                        env.getProperty(p + "ip.rajada", Integer.class, ipRajada)));
+    }
+
+    private static TooManyRequestsException recusa(String msg, long esperaNanos) {
+        return new TooManyRequestsException(msg, Math.max(1, (esperaNanos + 999_999_999L) / 1_000_000_000L));
+    }
+}
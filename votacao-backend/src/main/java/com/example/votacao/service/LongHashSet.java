@@ -0,0 +1,128 @@
+package com.example.votacao.service;
+
+/**
+ * Conjunto de {@code long} com endereçamento aberto (linear probing), sem boxing.
+ * Não é thread-safe: quem usa sincroniza por fora.
+ * <p>
+ * Memória: um {@code long[]} com capacidade potência de 2 e carga máxima de 0,75, ou seja,
+ * ~11 a ~21 bytes por elemento conforme o ponto do ciclo de crescimento. Um milhão de CPFs cabe em
+ * 2^21 slots = 16 MiB (um {@code HashSet<String>} equivalente passa de 100 MiB).
+ */
+public final class LongHashSet {
+
+    private static final long VAZIO = 0L;
+    private static final float CARGA_MAXIMA = 0.75f;
+
+    private long[] slots;
+    private int mask;
+    private int size;
+    private int limite;
+    // 0 é o marcador de slot vazio, então é guardado à parte
+    private boolean temZero;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int capacidadeEsperada) {
+        int cap = Integer.highestOneBit(Math.max(4, (int) (capacidadeEsperada / CARGA_MAXIMA)) - 1) << 1;
+        alocar(cap);
+    }
+
+    public boolean contains(long v) {
+        if (v == VAZIO) return temZero;
+        int i = indice(v);
+        long atual;
+        while ((atual = slots[i]) != VAZIO) {
+            if (atual == v) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /** @return true se o valor não estava no conjunto. */
+    public boolean add(long v) {
+        if (v == VAZIO) {
+            if (temZero) return false;
+            temZero = true;
+            size++;
+            return true;
+        }
+        int i = indice(v);
+        long atual;
+        while ((atual = slots[i]) != VAZIO) {
+            if (atual == v) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = v;
+        if (++size > limite) crescer();
+        return true;
+    }
+
+    /** Remoção com deslocamento para trás (sem lápides). */
+    public boolean remove(long v) {
+        if (v == VAZIO) {
+            if (!temZero) return false;
+            temZero = false;
+            size--;
+            return true;
+        }
+        int i = indice(v);
+        while (slots[i] != v) {
+            if (slots[i] == VAZIO) return false;
+            i = (i + 1) & mask;
+        }
+        int vago = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long atual = slots[j];
+            if (atual == VAZIO) break;
+            int ideal = indice(atual);
+            // move atual para o buraco se o buraco está entre a posição ideal dele e onde ele está
+            if (((j - ideal) & mask) >= ((j - vago) & mask)) {
+                slots[vago] = atual;
+                vago = j;
+            }
+        }
+        slots[vago] = VAZIO;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Bytes ocupados pelo array de slots. */
+    public long memoriaBytes() {
+        return (long) slots.length * Long.BYTES;
+    }
+
+    private int indice(long v) {
+        // mistura do splitmix64 para espalhar CPFs sequenciais
+        long h = v * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+
+    private void crescer() {
+        long[] antigos = slots;
+        alocar(antigos.length << 1);
+        int n = temZero ? 1 : 0;
+        for (long v : antigos) {
+            if (v == VAZIO) continue;
+            int i = indice(v);
+            while (slots[i] != VAZIO) i = (i + 1) & mask;
+            slots[i] = v;
+            n++;
+        }
+        size = n;
+    }
+
+    private void alocar(int capacidade) {
+        slots = new long[capacidade];
+        mask = capacidade - 1;
+        limite = (int) (capacidade * CARGA_MAXIMA);
+    }
+}
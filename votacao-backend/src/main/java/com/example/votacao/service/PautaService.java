@@ -1,81 +1,209 @@
 package com.example.votacao.service;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.votacao.domain.Pauta;
+import com.example.votacao.domain.ResultadoFinal;
 import com.example.votacao.domain.SessaoVotacao;
 import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.PaginaPautas;
+import com.example.votacao.dto.PautaCursor;
+import com.example.votacao.dto.PautaResumo;
 import com.example.votacao.dto.ResultadoDTO;
 import com.example.votacao.dto.enums.OpcaoVoto;
 import com.example.votacao.dto.enums.SessaoStatus;
 import com.example.votacao.exception.ConflictException;
 import com.example.votacao.exception.NotFoundException;
 import com.example.votacao.repository.PautaRepository;
+import com.example.votacao.repository.ResultadoFinalRepository;
 import com.example.votacao.repository.SessaoVotacaoRepository;
 import com.example.votacao.repository.VotoRepository;
+import com.example.votacao.service.VotacaoMetricas.EtapaResultado;
 
 @Service
 public class PautaService {
 
     private final PautaRepository repo;
     private final SessaoVotacaoRepository sessaoRepo;
+    private final PlacarStore placar;
+    private final SessaoJanelaCache janelas;
     private final VotoRepository votoRepo;
-
-    public PautaService(PautaRepository repo, SessaoVotacaoRepository sessaoRepo, VotoRepository votoRepo) {
+    private final ResultadoFinalRepository finais;
+    private final ApplicationEventPublisher events;
+    private final DbBulkhead bulkhead;
+    private final LeituraRoteada leitura;
+    private final TransactionTemplate tx;
+    private final VotacaoMetricas metricas;
+    private final Clock clock;
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    public PautaService(PautaRepository repo, SessaoVotacaoRepository sessaoRepo, PlacarStore placar,
+            SessaoJanelaCache janelas, VotoRepository votoRepo, ResultadoFinalRepository finais,
+            ApplicationEventPublisher events, DbBulkhead bulkhead, LeituraRoteada leitura, TransactionTemplate tx,
+            VotacaoMetricas metricas, Clock clock) {
         this.repo = repo;
         this.sessaoRepo = sessaoRepo;
+        this.placar = placar;
+        this.janelas = janelas;
         this.votoRepo = votoRepo;
+        this.finais = finais;
+        this.events = events;
+        this.bulkhead = bulkhead;
+        this.leitura = leitura;
+        this.tx = tx;
+        this.metricas = metricas;
+        this.clock = clock;
     }
 
     public Pauta criar(CreatePautaRequest req) {
         Pauta p = new Pauta();
         p.setTitulo(req.titulo());
         p.setDescricao(req.descricao());
-        return repo.save(p);
+        return bulkhead.executar(() -> repo.save(p));
     }
 
     public Pauta get(UUID id) {
-        return repo.findById(id).orElseThrow(() -> new NotFoundException("Pauta não encontrada"));
+        return lerComRetorno(() -> repo.findById(id)).orElseThrow(() -> new NotFoundException("Pauta não encontrada"));
+    }
+
+    /** A pauta existe? Pelo cache da janela (ausência vai ao banco, não é cacheada). */
+    public boolean existe(UUID id) {
+        return janelas.get(id) != null;
     }
 
-    public List<Pauta> listar() {
-        return repo.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    /**
+     * Pautas mais recentes primeiro, {@code limite} por página. Busca uma linha a mais para saber se
+     * há próxima página sem precisar de COUNT.
+     */
+    public PaginaPautas listar(String cursor, int limite) {
+        int n = Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        PautaCursor depoisDe = cursor == null || cursor.isBlank() ? null : PautaCursor.decodificar(cursor);
+        List<PautaResumo> linhas = leitura.executar(() -> depoisDe == null
+                ? repo.resumos(Limit.of(n + 1))
+                : repo.resumosAntes(depoisDe.createdAt(), depoisDe.id(), Limit.of(n + 1)));
+
+        boolean temMais = linhas.size() > n;
+        Instant agora = Instant.now(clock);
+        List<PautaResumo> itens = new ArrayList<>(Math.min(linhas.size(), n));
+        for (int i = 0; i < linhas.size() && i < n; i++) itens.add(linhas.get(i).noInstante(agora));
+        String proximo = temMais ? PautaCursor.de(itens.get(n - 1)).codificar() : null;
+        return new PaginaPautas(itens, proximo);
     }
 
-    @Transactional
     public SessaoVotacao abrirSessao(UUID pautaId, Integer duracaoMinutos) {
+        // bulkhead por fora da transação: a conexão é pega no início dela
+        SessaoVotacao s = bulkhead.executar(() -> tx.execute(st -> criarSessao(pautaId, duracaoMinutos)));
+        janelas.invalidar(pautaId);
+        events.publishEvent(new SessaoAbertaEvent(pautaId, s.getClosesAt()));
+        return s;
+    }
+
+    private SessaoVotacao criarSessao(UUID pautaId, Integer duracaoMinutos) {
         get(pautaId); // 404 se não existir
 
         // já existe sessão ABERTA? então 409
         if (sessaoRepo.existsByPautaIdAndStatus(pautaId, SessaoStatus.ABERTA)) {
             throw new ConflictException("Sessão já aberta");
         }
+        // uma sessão por pauta: depois de encerrada não reabre
+        if (sessaoRepo.existsByPautaIdAndStatus(pautaId, SessaoStatus.ENCERRADA)) {
+            throw new ConflictException("Sessão já encerrada");
+        }
 
         int dur = (duracaoMinutos == null || duracaoMinutos <= 0) ? 60 : duracaoMinutos;
         // construtor da tua entidade já deve setar status=ABERTA e closesAt = opensAt + dur (em minutos)
-        SessaoVotacao s = new SessaoVotacao(pautaId, Instant.now(), dur);
+        SessaoVotacao s = new SessaoVotacao(pautaId, Instant.now(clock), dur);
         return sessaoRepo.save(s);
     }
 
+    /**
+     * Encerra a sessão (ABERTA -> ENCERRADA) e congela o placar numa linha de {@code resultado_final}.
+     * A contagem final sai do banco (vale para todas as réplicas), uma única vez.
+     * @return false se a sessão já tinha sido encerrada (por outra réplica, por exemplo)
+     */
+    public boolean encerrarSessao(UUID pautaId, Instant agora) {
+        boolean encerrou = bulkhead.executar(() -> tx.execute(st -> congelarResultado(pautaId, agora)));
+        if (encerrou) janelas.invalidar(pautaId);
+        return encerrou;
+    }
 
+    private boolean congelarResultado(UUID pautaId, Instant agora) {
+        if (sessaoRepo.trocarStatus(pautaId, SessaoStatus.ABERTA, SessaoStatus.ENCERRADA) == 0) {
+            return false;
+        }
+        long sim = 0, nao = 0;
+        for (Object[] r : votoRepo.countByOpcao(pautaId)) {
+            if (r[0] == OpcaoVoto.SIM) sim = ((Number) r[1]).longValue();
+            else nao = ((Number) r[1]).longValue();
+        }
+        finais.save(new ResultadoFinal(pautaId, sim, nao, agora));
+        return true;
+    }
+
+    /**
+     * Leitura pela réplica; se ela não achar (pode não ter recebido a linha recém-gravada ainda),
+     * confirma na primária antes de responder que não existe.
+     */
+    private <T> Optional<T> lerComRetorno(Supplier<Optional<T>> busca) {
+        Optional<T> r = leitura.executar(busca);
+        if (r.isEmpty() && leitura.naReplica()) r = leitura.naPrimaria(busca);
+        return r;
+    }
+
+    /** Resultado e se ele já é o placar congelado em {@code resultado_final} (não muda mais). */
+    public record ResultadoLido(ResultadoDTO resultado, boolean congelado) {}
 
     public ResultadoDTO resultado(UUID pautaId) {
-        long sim = votoRepo.countByPautaIdAndOpcao(pautaId, OpcaoVoto.SIM);
-        long nao = votoRepo.countByPautaIdAndOpcao(pautaId, OpcaoVoto.NAO);
-        long total = sim + nao;
+        return lerResultado(pautaId).resultado();
+    }
+
+    public ResultadoLido lerResultado(UUID pautaId) {
+        final long inicio = System.nanoTime();
+        try {
+            return montarResultado(pautaId, true, inicio);
+        } finally {
+            metricas.resultado(inicio);
+        }
+    }
+
+    /** Leitura interna (tique do SSE): mesmo resultado, fora das métricas de leitura de cliente. */
+    public ResultadoLido lerResultadoInterno(UUID pautaId) {
+        return montarResultado(pautaId, false, 0);
+    }
+
+    private ResultadoLido montarResultado(UUID pautaId, boolean medir, long t) {
+        // status sai do cache da janela da sessão
+        SessaoJanelaCache.Janela janela = janelas.get(pautaId);
+        if (medir) t = metricas.etapa(EtapaResultado.JANELA, t);
+
+        // sessão encerrada: placar congelado, uma linha por PK
+        if (janela != null && janela.status() == SessaoStatus.ENCERRADA) {
+            var fim = lerComRetorno(() -> finais.findById(pautaId)).orElse(null);
+            if (medir) t = metricas.etapa(EtapaResultado.FINAL, t);
+            if (fim != null) {
+                return new ResultadoLido(new ResultadoDTO(fim.getSim(), fim.getNao(), fim.getTotal(), "ENCERRADA"), true);
+            }
+        }
 
-        boolean aberta = sessaoRepo
-                .findFirstByPautaIdAndStatusOrderByOpenedAtDesc(pautaId, SessaoStatus.ABERTA)
-                .filter(s -> Instant.now().isBefore(s.getClosesAt()))
-                .isPresent();
+        // em andamento: contagem vem do placar (memória ou SUM dos shards), sem COUNT em voto
+        PlacarStore.Contagem c = placar.contagem(pautaId);
+        boolean aberta = janela != null && janela.isAbertaAgora(Instant.now(clock));
+        if (medir) metricas.etapa(EtapaResultado.PLACAR, t);
 
         String status = aberta ? "ABERTA" : "ENCERRADA";
-        return new ResultadoDTO(sim, nao, total, status);
+        return new ResultadoLido(new ResultadoDTO(c.sim(), c.nao(), c.total(), status), false);
     }
 }
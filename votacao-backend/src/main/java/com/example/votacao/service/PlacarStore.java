@@ -0,0 +1,33 @@
+package com.example.votacao.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.dto.enums.OpcaoVoto;
+
+/**
+ * Placar SIM/NAO por pauta. {@code votacao.tally.modo} escolhe a implementação:
+ * <ul>
+ * <li>{@code memoria} ({@link VotoTally}): contadores na JVM, reconstruídos do banco na subida; só
+ * serve com uma réplica;</li>
+ * <li>{@code sharded} ({@link ShardedVotoTally}): tabela {@code voto_tally}, vale para todas as réplicas.</li>
+ * </ul>
+ * {@code registrar} é chamado dentro da transação que insere o voto: se ela sofrer rollback, o voto
+ * não é contado.
+ */
+public interface PlacarStore {
+
+    record Contagem(long sim, long nao) {
+        public long total() { return sim + nao; }
+    }
+
+    void registrar(UUID pautaId, OpcaoVoto opcao);
+
+    /** Votos gravados juntos (lote do group commit ou do envio em lote). */
+    default void registrar(List<Voto> votos) {
+        for (Voto v : votos) registrar(v.getPautaId(), v.getOpcao());
+    }
+
+    Contagem contagem(UUID pautaId);
+}
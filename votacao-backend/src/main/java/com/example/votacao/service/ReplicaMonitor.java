@@ -0,0 +1,118 @@
+package com.example.votacao.service;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Atraso da réplica de leitura. A cada {@code probe-interval-ms} lê na réplica o último batimento
+ * ({@code replica_heartbeat}) e grava um novo na primária; {@code agora - batimento visto} é um
+ * limite superior de quão velhos estão os dados lá (inclui o intervalo da sondagem, então
+ * {@code max-lag-ms} deve ser bem maior que ele). Réplica fora do ar ou atrasada além do limite:
+ * leituras voltam para a primária até a próxima sondagem boa.
+ * <p>
+ * Sem {@code votacao.datasource.replica.url} fica inerte ({@link #utilizavel()} sempre false).
+ */
+@Slf4j
+@Component
+public class ReplicaMonitor {
+
+    private static final long DESCONHECIDO = Long.MAX_VALUE;
+
+    private final long maxLagMs;
+    private final long intervaloMs;
+    private final Clock clock;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private JdbcTemplate primaria;
+    private JdbcTemplate replica;
+    private volatile long lagMs = DESCONHECIDO;
+    private volatile boolean disponivelAntes = true;
+
+    public ReplicaMonitor(@Value("${votacao.datasource.replica.max-lag-ms:2000}") long maxLagMs,
+            @Value("${votacao.datasource.replica.probe-interval-ms:500}") long intervaloMs, Clock clock,
+            MeterRegistry registry) {
+        this.maxLagMs = maxLagMs;
+        this.intervaloMs = intervaloMs;
+        this.clock = clock;
+        Gauge.builder("votacao.db.replica.lag", this, m -> m.lagMs == DESCONHECIDO ? Double.NaN : m.lagMs / 1000.0)
+                .baseUnit("seconds").register(registry);
+    }
+
+    /** Chamado pela configuração de datasources quando há réplica; começa a sondar. */
+    public synchronized void ativar(DataSource primaria, DataSource replica) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        if (intervaloMs > 0) executor.scheduleWithFixedDelay(this::sondarComLog, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Leituras podem ir para a réplica agora. */
+    public boolean utilizavel() {
+        return lagMs <= maxLagMs;
+    }
+
+    public long lagMs() {
+        return lagMs;
+    }
+
+    /** Falha ao pegar conexão na réplica: para de usá-la até a próxima sondagem boa. */
+    public void falhou(Exception e) {
+        lagMs = DESCONHECIDO;
+        log.warn("Réplica indisponível, leituras na primária: {}", e.getMessage());
+    }
+
+    /** Uma sondagem (o agendamento chama sozinho; público para testes). */
+    public void sondar() {
+        if (replica == null) return;
+        long agora = clock.millis();
+        // lê antes de gravar: o valor visto é o da sondagem anterior (ou de outra instância) já replicado
+        try {
+            Long visto = replica.queryForObject("SELECT batido_em_ms FROM replica_heartbeat WHERE id = 1", Long.class);
+            lagMs = visto == null || visto <= 0 ? DESCONHECIDO : Math.max(0, agora - visto);
+        } catch (DataAccessException e) {
+            lagMs = DESCONHECIDO;
+        }
+        try {
+            primaria.update("UPDATE replica_heartbeat SET batido_em_ms = ? WHERE id = 1", agora);
+        } catch (DataAccessException e) {
+            log.debug("Falha gravando batimento da réplica: {}", e.getMessage());
+        }
+    }
+
+    private void sondarComLog() {
+        try {
+            sondar();
+            boolean disponivel = utilizavel();
+            if (disponivel != disponivelAntes) {
+                if (disponivel) log.info("Réplica em dia (atraso {} ms), leituras voltam para ela", lagMs);
+                else log.warn("Réplica atrasada ou fora do ar (atraso {} ms), leituras na primária",
+                        lagMs == DESCONHECIDO ? "?" : lagMs);
+                disponivelAntes = disponivel;
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha sondando a réplica", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.votacao.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.exception.NotFoundException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fan-out do resultado ao vivo via SSE. Um único tique global (no máximo {@code max-eventos-por-segundo}
+ * por segundo) calcula o {@link ResultadoDTO} uma vez por pauta com assinantes — a partir do placar em
+ * memória, sem consulta ao banco e fora das métricas de leitura ({@code votacao.resultado} conta só a
+ * assinatura) — e publica só se mudou. O evento {@code final} (que fecha o stream de todos) só sai
+ * quando o placar está congelado em {@code resultado_final}: entre o closesAt e o encerramento (grace)
+ * a contagem ainda pode mudar.
+ */
+@Slf4j
+@Component
+public class ResultadoBroadcaster {
+
+    private static final class Canal {
+        final Sinks.Many<ServerSentEvent<ResultadoDTO>> sink = Sinks.many().multicast().directBestEffort();
+        final AtomicInteger assinantes = new AtomicInteger();
+        volatile ResultadoDTO ultimo;
+    }
+
+    private final PautaService pautaService;
+    private final SessaoJanelaCache janelas;
+    private final Duration tique;
+    private final Map<UUID, Canal> canais = new ConcurrentHashMap<>();
+    // comentário periódico para proxies não derrubarem a conexão ociosa; compartilhado por todos
+    private final Flux<ServerSentEvent<ResultadoDTO>> heartbeat = Flux.interval(Duration.ofSeconds(15))
+            .map(i -> ServerSentEvent.<ResultadoDTO>builder().comment("ping").build())
+            .share();
+    private Disposable ticker;
+
+    public ResultadoBroadcaster(PautaService pautaService, SessaoJanelaCache janelas,
+            @Value("${votacao.sse.max-eventos-por-segundo:4}") int maxEventosPorSegundo) {
+        this.pautaService = pautaService;
+        this.janelas = janelas;
+        this.tique = Duration.ofMillis(1000 / Math.max(1, maxEventosPorSegundo));
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Flux.interval(tique).onBackpressureDrop().subscribe(i -> publicar());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) ticker.dispose();
+        canais.values().forEach(c -> c.sink.tryEmitComplete());
+    }
+
+    public Flux<ServerSentEvent<ResultadoDTO>> assinar(UUID pautaId) {
+        if (janelas.get(pautaId) == null) {
+            throw new NotFoundException("Pauta não encontrada");
+        }
+        PautaService.ResultadoLido lido = pautaService.lerResultado(pautaId);
+        ResultadoDTO atual = lido.resultado();
+        if (lido.congelado()) {
+            return Flux.just(evento(atual, true));
+        }
+        return Flux.defer(() -> {
+            // contagem de assinantes mexida dentro do compute: atômica com a remoção do canal
+            Canal canal = canais.compute(pautaId, (id, c) -> {
+                Canal atualOuNovo = c;
+                if (atualOuNovo == null) {
+                    atualOuNovo = new Canal();
+                    atualOuNovo.ultimo = atual; // o snapshot inicial já vai no Flux.just abaixo
+                }
+                atualOuNovo.assinantes.incrementAndGet();
+                return atualOuNovo;
+            });
+            return Flux.just(evento(atual, false))
+                    .concatWith(canal.sink.asFlux())
+                    .mergeWith(heartbeat)
+                    .takeUntil(e -> "final".equals(e.event()))
+                    .doFinally(s -> canais.computeIfPresent(pautaId,
+                            (id, c) -> c == canal && c.assinantes.decrementAndGet() == 0 ? null : c));
+        });
+    }
+
+    private void publicar() {
+        canais.forEach((pautaId, canal) -> {
+            try {
+                PautaService.ResultadoLido lido = pautaService.lerResultadoInterno(pautaId);
+                ResultadoDTO r = lido.resultado();
+                if (lido.congelado()) {
+                    canal.sink.tryEmitNext(evento(r, true));
+                    canal.sink.tryEmitComplete();
+                    canais.remove(pautaId, canal);
+                } else if (!r.equals(canal.ultimo)) {
+                    canal.ultimo = r;
+                    canal.sink.tryEmitNext(evento(r, false));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falha publicando resultado da pauta {}", pautaId, e);
+            }
+        });
+    }
+
+    private static ServerSentEvent<ResultadoDTO> evento(ResultadoDTO r, boolean fim) {
+        return ServerSentEvent.builder(r).event(fim ? "final" : "resultado").build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.votacao.service;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.dto.ResultadoDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Resultado já com o ETag para o GET condicional. O ETag sai dos próprios números (sim, nao, status),
+ * que determinam o JSON inteiro, então um poll repetido é respondido com 304 sem serializar nada.
+ * Placar congelado ({@code resultado_final}) não muda mais: o JSON fica aqui em bytes e as próximas
+ * leituras nem passam pelo {@link PautaService}.
+ */
+@Component
+public class ResultadoHttpCache {
+
+    /** {@code json} só vem preenchido no congelado; o em andamento é serializado pelo MVC. */
+    public record Representacao(String etag, boolean congelado, ResultadoDTO resultado, byte[] json) {}
+
+    private final PautaService pautaService;
+    private final ObjectMapper mapper;
+    private final Cache<UUID, Representacao> congelados;
+
+    public ResultadoHttpCache(PautaService pautaService, ObjectMapper mapper,
+            @Value("${votacao.cache.resultado-final.max-size:10000}") long maxSize) {
+        this.pautaService = pautaService;
+        this.mapper = mapper;
+        this.congelados = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public Representacao resultado(UUID pautaId) {
+        Representacao r = congelados.getIfPresent(pautaId);
+        if (r != null) return r;
+
+        PautaService.ResultadoLido lido = pautaService.lerResultado(pautaId);
+        ResultadoDTO d = lido.resultado();
+        String etag = "\"" + d.sim() + "-" + d.nao() + "-" + d.status() + "\"";
+        if (!lido.congelado()) return new Representacao(etag, false, d, null);
+
+        r = new Representacao(etag, true, d, serializar(d));
+        congelados.put(pautaId, r);
+        return r;
+    }
+
+    private byte[] serializar(ResultadoDTO d) {
+        try {
+            return mapper.writeValueAsBytes(d);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
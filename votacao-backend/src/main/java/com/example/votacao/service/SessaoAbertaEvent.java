@@ -0,0 +1,7 @@
+package com.example.votacao.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Publicado quando uma sessão é aberta; o {@link SessaoEncerramentoScheduler} agenda o encerramento. */
+public record SessaoAbertaEvent(UUID pautaId, Instant closesAt) {}
@@ -0,0 +1,108 @@
+package com.example.votacao.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.votacao.domain.SessaoVotacao;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.repository.SessaoVotacaoRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encerra as sessões no closesAt. Cada sessão aberta vira uma tarefa num {@link ScheduledExecutorService}
+ * de uma thread (fila de prioridade por horário); na subida recarrega as sessões ainda ABERTA do banco,
+ * então um restart não perde encerramentos (os vencidos rodam na hora).
+ * O encerramento espera {@code grace-ms} além do closesAt para votos já admitidos terminarem de gravar
+ * (e, com o journal ligado, que os confirmados nele cheguem à tabela voto).
+ */
+@Slf4j
+@Component
+public class SessaoEncerramentoScheduler {
+
+    private final PautaService pautaService;
+    private final SessaoVotacaoRepository sessoes;
+    private final SessaoJanelaCache janelas;
+    private final CpfDedupIndex dedup;
+    private final VotoJournal journal;
+    private final Clock clock;
+    private final Duration grace;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sessao-encerramento");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<UUID, ScheduledFuture<?>> agendadas = new ConcurrentHashMap<>();
+
+    public SessaoEncerramentoScheduler(PautaService pautaService, SessaoVotacaoRepository sessoes,
+            SessaoJanelaCache janelas, CpfDedupIndex dedup, VotoJournal journal, Clock clock,
+            @Value("${votacao.encerramento.grace-ms:2000}") long graceMs) {
+        this.pautaService = pautaService;
+        this.sessoes = sessoes;
+        this.janelas = janelas;
+        this.dedup = dedup;
+        this.journal = journal;
+        this.clock = clock;
+        this.grace = Duration.ofMillis(graceMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recarregar() {
+        var abertas = sessoes.findByStatus(SessaoStatus.ABERTA);
+        for (SessaoVotacao s : abertas) {
+            agendar(s.getPautaId(), s.getClosesAt());
+        }
+        log.info("{} sessões abertas agendadas para encerramento", abertas.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessaoAberta(SessaoAbertaEvent e) {
+        agendar(e.pautaId(), e.closesAt());
+    }
+
+    public void agendar(UUID pautaId, Instant closesAt) {
+        long atraso = Math.max(0, Duration.between(Instant.now(clock), closesAt.plus(grace)).toMillis());
+        ScheduledFuture<?> anterior = agendadas.put(pautaId,
+                executor.schedule(() -> encerrar(pautaId), atraso, TimeUnit.MILLISECONDS));
+        if (anterior != null) anterior.cancel(false);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void encerrar(UUID pautaId) {
+        agendadas.remove(pautaId);
+        try {
+            // votos confirmados no journal precisam estar na tabela antes de congelar o placar
+            if (!journal.aguardarAplicacao(grace.toMillis() + 5_000)) {
+                throw new IllegalStateException("Journal de votos ainda não aplicado");
+            }
+            if (pautaService.encerrarSessao(pautaId, Instant.now(clock))) {
+                log.info("Sessão da pauta {} encerrada", pautaId);
+            }
+            janelas.invalidar(pautaId);
+            dedup.descartar(pautaId);
+        } catch (RuntimeException e) {
+            // tenta de novo em instantes; o próximo restart também pega
+            log.error("Falha encerrando sessão da pauta {}", pautaId, e);
+            agendadas.put(pautaId, executor.schedule(() -> encerrar(pautaId), 30, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.votacao.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.votacao.domain.SessaoVotacao;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.repository.PautaRepository;
+import com.example.votacao.repository.SessaoVotacaoRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Cache read-through de "pauta existe + janela da sessão", por id da pauta.
+ * O closesAt de uma sessão não muda depois de aberta, então o caminho do voto consegue decidir
+ * 404 / encerrada / aberta sem ir ao banco. Limitado por tamanho e por TTL; invalidado quando a
+ * sessão é aberta ou encerrada. O carregamento (miss) passa pelo {@link DbBulkhead}, como a carga do
+ * {@link CpfDedupIndex} e os inserts do voto: rajada de pautas frias não fura o limite de conexões.
+ */
+@Component
+public class SessaoJanelaCache {
+
+    /** Sessão = null quando a pauta existe mas ainda não tem sessão. */
+    public record Janela(UUID pautaId, UUID sessaoId, SessaoStatus status, Instant closesAt) {
+
+        public boolean temSessao() {
+            return sessaoId != null;
+        }
+
+        public boolean isAbertaAgora(Instant agora) {
+            return status == SessaoStatus.ABERTA && closesAt != null && agora.isBefore(closesAt);
+        }
+    }
+
+    private final PautaRepository pautas;
+    private final SessaoVotacaoRepository sessoes;
+    private final DbBulkhead bulkhead;
+    private final LoadingCache<UUID, Janela> cache;
+
+    public SessaoJanelaCache(PautaRepository pautas, SessaoVotacaoRepository sessoes, DbBulkhead bulkhead,
+            @Value("${votacao.cache.sessao.max-size:10000}") long maxSize,
+            @Value("${votacao.cache.sessao.ttl-seconds:30}") long ttlSeconds) {
+        this.pautas = pautas;
+        this.sessoes = sessoes;
+        this.bulkhead = bulkhead;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(this::carregar);
+    }
+
+    /** @return a janela da pauta, ou null se a pauta não existir (ausência não é cacheada). */
+    public Janela get(UUID pautaId) {
+        return cache.get(pautaId);
+    }
+
+    /** Descarta a entrada agora e, se houver transação, de novo após o commit (evita recachear o estado antigo). */
+    public void invalidar(UUID pautaId) {
+        cache.invalidate(pautaId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(pautaId);
+                }
+            });
+        }
+    }
+
+    private Janela carregar(UUID pautaId) {
+        return bulkhead.executar(() -> {
+            // existsById não carrega a pauta (nem a descricao TEXT)
+            if (!pautas.existsById(pautaId)) return null;
+            return sessoes.findByPautaId(pautaId)
+                    .map(SessaoJanelaCache::janela)
+                    .orElse(new Janela(pautaId, null, null, null));
+        });
+    }
+
+    static Janela janela(SessaoVotacao s) {
+        return new Janela(s.getPautaId(), s.getId(), s.getStatus(), s.getClosesAt());
+    }
+}
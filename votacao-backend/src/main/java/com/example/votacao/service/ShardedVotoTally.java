@@ -0,0 +1,83 @@
+package com.example.votacao.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoTallyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Placar no banco, válido com várias réplicas atrás do balanceador: cada voto soma 1 em um dos
+ * {@code shards} de (pauta, opcao), sorteado, na mesma transação do INSERT em {@code voto}. Votos
+ * simultâneos na mesma pauta caem em linhas diferentes em vez de fazer fila num contador só.
+ * O resultado é um SUM sobre no máximo 2 × shards linhas. {@link VotoTallyReconciliacao} confere
+ * os shards contra {@code voto}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "votacao.tally.modo", havingValue = "sharded")
+public class ShardedVotoTally implements PlacarStore {
+
+    private record Chave(UUID pautaId, OpcaoVoto opcao) implements Comparable<Chave> {
+        @Override
+        public int compareTo(Chave o) {
+            int c = pautaId.compareTo(o.pautaId);
+            return c != 0 ? c : opcao.compareTo(o.opcao);
+        }
+    }
+
+    private final VotoTallyRepository shards;
+    private final LeituraRoteada leitura;
+    private final int quantidade;
+
+    public ShardedVotoTally(VotoTallyRepository shards, LeituraRoteada leitura,
+            @Value("${votacao.tally.shards:16}") int quantidade) {
+        this.shards = shards;
+        this.leitura = leitura;
+        this.quantidade = Math.max(1, quantidade);
+        log.info("Placar em voto_tally com {} shards por opção", this.quantidade);
+    }
+
+    @Override
+    public void registrar(UUID pautaId, OpcaoVoto opcao) {
+        shards.incrementar(pautaId, opcao, sortear(), 1);
+    }
+
+    /**
+     * Um upsert por (pauta, opcao) do lote. A ordem fixa das chaves faz duas transações que tocam as
+     * mesmas pautas travarem as linhas na mesma sequência (sem deadlock entre lotes de réplicas diferentes).
+     */
+    @Override
+    public void registrar(List<Voto> votos) {
+        Map<Chave, long[]> porChave = new TreeMap<>();
+        for (Voto v : votos) {
+            porChave.computeIfAbsent(new Chave(v.getPautaId(), v.getOpcao()), k -> new long[1])[0]++;
+        }
+        porChave.forEach((k, n) -> shards.incrementar(k.pautaId(), k.opcao(), sortear(), n[0]));
+    }
+
+    @Override
+    public Contagem contagem(UUID pautaId) {
+        long sim = 0, nao = 0;
+        // réplica em dia responde (atraso limitado por votacao.datasource.replica.max-lag-ms)
+        for (VotoTallyRepository.Linha l : leitura.executar(() -> shards.somar(pautaId))) {
+            if (l.opcao() == OpcaoVoto.SIM) sim = l.total();
+            else nao = l.total();
+        }
+        return new Contagem(sim, nao);
+    }
+
+    private int sortear() {
+        return quantidade == 1 ? 0 : ThreadLocalRandom.current().nextInt(quantidade);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.votacao.service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas do voto e do resultado (expostas em {@code /actuator/prometheus}). Timers e contadores são
+ * criados uma vez aqui; no caminho quente só há {@code System.nanoTime()} e um {@code record}, sem
+ * lookup no registry nem tags montadas por chamada.
+ * <ul>
+ * <li>{@code votacao_votar_etapa_seconds{etapa}}: tempo de cada etapa do {@code votar};</li>
+ * <li>{@code votacao_votar_seconds}: voto inteiro (com histograma para p99 no Prometheus);</li>
+ * <li>{@code votacao_votos_total{desfecho}}: criado, duplicado, sessão encerrada, CPF inválido...;</li>
+ * <li>{@code votacao_resultado_etapa_seconds{etapa}} e {@code votacao_resultado_seconds}.</li>
+ * </ul>
+ * Espera por conexão do Hikari sai nas métricas {@code hikaricp_*} do próprio Spring Boot.
+ */
+@Component
+public class VotacaoMetricas {
+
+    public enum EtapaVoto { CPF, JANELA, SESSAO, ELEGIBILIDADE, DEDUP, GRAVACAO }
+
+    public enum EtapaResultado { JANELA, FINAL, PLACAR }
+
+    public enum Desfecho { CRIADO, DUPLICADO, SESSAO_ENCERRADA, CPF_INVALIDO, REQUISICAO_INVALIDA, PAUTA_INEXISTENTE,
+            INAPTO, INDISPONIVEL, ERRO }
+
+    private final Map<EtapaVoto, Timer> etapasVoto = new EnumMap<>(EtapaVoto.class);
+    private final Map<EtapaResultado, Timer> etapasResultado = new EnumMap<>(EtapaResultado.class);
+    private final Map<Desfecho, Counter> desfechos = new EnumMap<>(Desfecho.class);
+    private final Timer votar;
+    private final Timer resultado;
+
+    public VotacaoMetricas(MeterRegistry registry) {
+        for (EtapaVoto e : EtapaVoto.values()) {
+            etapasVoto.put(e, Timer.builder("votacao.votar.etapa").tag("etapa", tag(e)).register(registry));
+        }
+        for (EtapaResultado e : EtapaResultado.values()) {
+            etapasResultado.put(e, Timer.builder("votacao.resultado.etapa").tag("etapa", tag(e)).register(registry));
+        }
+        for (Desfecho d : Desfecho.values()) {
+            desfechos.put(d, Counter.builder("votacao.votos").tag("desfecho", tag(d)).register(registry));
+        }
+        votar = Timer.builder("votacao.votar").publishPercentileHistogram().register(registry);
+        resultado = Timer.builder("votacao.resultado").publishPercentileHistogram().register(registry);
+    }
+
+    /** Fecha a etapa iniciada em {@code desde} e devolve o instante atual (início da próxima). */
+    public long etapa(EtapaVoto etapa, long desde) {
+        long agora = System.nanoTime();
+        etapasVoto.get(etapa).record(agora - desde, TimeUnit.NANOSECONDS);
+        return agora;
+    }
+
+    public long etapa(EtapaResultado etapa, long desde) {
+        long agora = System.nanoTime();
+        etapasResultado.get(etapa).record(agora - desde, TimeUnit.NANOSECONDS);
+        return agora;
+    }
+
+    public void desfecho(Desfecho d) {
+        desfechos.get(d).increment();
+    }
+
+    /** Desfechos de um lote inteiro de uma vez. */
+    public void desfecho(Desfecho d, long quantidade) {
+        if (quantidade > 0) desfechos.get(d).increment(quantidade);
+    }
+
+    public void votar(long inicio) {
+        votar.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    public void resultado(long inicio) {
+        resultado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tag(Enum<?> e) {
+        return e.name().toLowerCase(Locale.ROOT);
+    }
+}
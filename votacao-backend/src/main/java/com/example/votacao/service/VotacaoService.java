@@ -1,122 +1,370 @@
 package com.example.votacao.service;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.example.votacao.client.CpfEligibilityClient;
+import com.example.votacao.domain.Cpf;
 import com.example.votacao.domain.SessaoVotacao;
 import com.example.votacao.domain.Voto;
 import com.example.votacao.dto.ResultadoResponse;
+import com.example.votacao.dto.VotoLoteResultado;
 import com.example.votacao.dto.VotoRequest;
 import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.dto.enums.StatusVotoLote;
 
 import com.example.votacao.exception.ConflictException;
 import com.example.votacao.exception.ForbiddenException;
 import com.example.votacao.exception.NotFoundException;
+import com.example.votacao.exception.ServiceUnavailableException;
 import com.example.votacao.exception.UnprocessableException;
-import com.example.votacao.repository.PautaRepository;
 import com.example.votacao.repository.SessaoVotacaoRepository;
-import com.example.votacao.repository.VotoRepository;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.repository.VotoBatchRepository.Admissao;
+import com.example.votacao.service.VotacaoMetricas.Desfecho;
+import com.example.votacao.service.VotacaoMetricas.EtapaVoto;
 
 import java.time.Clock;
 
 @Service
 public class VotacaoService {
 
-	private final VotoRepository votos;
-	private final PautaRepository pautas;
 	private final SessaoVotacaoRepository sessoes;
-	private final CpfEligibilityClient cpfClient;
+	private final SessaoJanelaCache janelas;
+	private final ElegibilidadeService elegibilidade;
+	private final VotoGroupCommitter groupCommitter;
+	private final VotoJournal journal;
+	private final PlacarStore placar;
+	private final CpfDedupIndex dedup;
+	private final VotoBatchRepository batchRepo;
+	private final ApplicationEventPublisher events;
+	private final DbBulkhead bulkhead;
+	private final VotacaoMetricas metricas;
+	private final TransactionTemplate tx;
 	private final Clock clock;
 
-	public VotacaoService(VotoRepository votos, PautaRepository pautas, SessaoVotacaoRepository sessoes,
-			CpfEligibilityClient cpfClient, Clock clock) {
-		this.votos = votos;
-		this.pautas = pautas;
+	/** Uma linha de um envio em lote, com o número dela no arquivo. */
+	public record LinhaLote(long numero, VotoRequest voto) {}
+
+	public VotacaoService(SessaoVotacaoRepository sessoes, SessaoJanelaCache janelas,
+			ElegibilidadeService elegibilidade, VotoGroupCommitter groupCommitter, VotoJournal journal, PlacarStore placar,
+			CpfDedupIndex dedup,
+			VotoBatchRepository batchRepo, ApplicationEventPublisher events, DbBulkhead bulkhead, VotacaoMetricas metricas,
+			TransactionTemplate tx, Clock clock) {
 		this.sessoes = sessoes;
-		this.cpfClient = cpfClient;
+		this.janelas = janelas;
+		this.elegibilidade = elegibilidade;
+		this.groupCommitter = groupCommitter;
+		this.journal = journal;
+		this.placar = placar;
+		this.dedup = dedup;
+		this.batchRepo = batchRepo;
+		this.events = events;
+		this.bulkhead = bulkhead;
+		this.metricas = metricas;
+		this.tx = tx;
 		this.clock = clock;
 	}
 
 	public void votar(UUID pautaId, VotoRequest req) {
+	    final long inicio = System.nanoTime();
+	    try {
+	        registrarVoto(pautaId, req, inicio);
+	    } finally {
+	        metricas.votar(inicio);
+	    }
+	}
+
+	private void registrarVoto(UUID pautaId, VotoRequest req, long t) {
 
-	    final String cpf = (req.cpf() == null ? "" : req.cpf().replaceAll("\\D", ""));
-	    if (cpf.length() != 11) {
-	        throw new UnprocessableException("CPF inválido (informe 11 dígitos)");
+	    // CPF já vem como número da desserialização; aqui só os dígitos verificadores
+	    final long cpfNum = req.cpf();
+	    if (!Cpf.isValido(cpfNum)) {
+	        metricas.desfecho(Desfecho.CPF_INVALIDO);
+	        throw new UnprocessableException("CPF inválido");
 	    }
+	    t = metricas.etapa(EtapaVoto.CPF, t);
 
-	    // 404 se pauta não existir
-	    pautas.findById(pautaId).orElseThrow(() -> new NotFoundException("Pauta não encontrada"));
+	    // 404 se pauta não existir; pauta + janela da sessão vêm do cache (sem ir ao banco no caminho quente)
+	    SessaoJanelaCache.Janela janela = janelas.get(pautaId);
+	    if (janela == null) {
+	        metricas.desfecho(Desfecho.PAUTA_INEXISTENTE);
+	        throw new NotFoundException("Pauta não encontrada");
+	    }
+	    t = metricas.etapa(EtapaVoto.JANELA, t);
 
 	    // carrega/cria sessão (uma por pauta)
-	    SessaoVotacao s = sessoes.findByPautaId(pautaId)
-	        .orElseGet(() -> sessoes.save(new SessaoVotacao(pautaId, Instant.now(clock), 60)));
-
-	    // SANIDADE: a sessão precisa pertencer ao mesmo pautaId do path
-	    if (!pautaId.equals(s.getPautaId())) {
-	        // se isso acontecer, tem bug de dados — não grava e avisa claro
-	        throw new UnprocessableException("Sessão não pertence à pauta informada");
+	    if (!janela.temSessao()) {
+	        janela = criarSessaoPadrao(pautaId);
+	        t = metricas.etapa(EtapaVoto.SESSAO, t);
 	    }
 
-	    if (!isAbertaAgora(s)) {
+	    if (!isAbertaAgora(janela)) {
+	        dedup.descartar(pautaId);
+	        metricas.desfecho(Desfecho.SESSAO_ENCERRADA);
 	        throw new UnprocessableException("Sessão encerrada");
 	    }
 
-	    // elegibilidade desativada em dev (bypass)
-	    // ...
-
 	    final com.example.votacao.dto.enums.OpcaoVoto opcao = req.opcao();
 	    if (opcao == null) {
+	        metricas.desfecho(Desfecho.REQUISICAO_INVALIDA);
 	        throw new UnprocessableException("Opção inválida (use SIM ou NAO)");
 	    }
 
-	    // PRÉ-CHECAGEM: evita bater no UNIQUE e ainda nos dá diagnóstico limpo
-	    if (votos.existsByPautaIdAndCpf(pautaId, cpf)) {
+	    // elegibilidade na API externa (cache + circuit breaker); bypass com cpf.check.enabled=false
+	    if (elegibilidade.isEnabled()) {
+	        try {
+	            elegibilidade.exigirApto(cpfNum);
+	        } catch (ForbiddenException e) {
+	            metricas.desfecho(Desfecho.INAPTO);
+	            throw e;
+	        } catch (UnprocessableException e) {
+	            metricas.desfecho(Desfecho.CPF_INVALIDO);
+	            throw e;
+	        } catch (ServiceUnavailableException e) {
+	            metricas.desfecho(Desfecho.INDISPONIVEL);
+	            throw e;
+	        }
+	        t = metricas.etapa(EtapaVoto.ELEGIBILIDADE, t);
+	    }
+
+	    // PRÉ-CHECAGEM em memória (índice de CPFs da pauta); a PK (pauta_id, cpf) fica como rede de segurança
+	    if (!dedup.reservar(pautaId, cpfNum)) {
+	        metricas.desfecho(Desfecho.DUPLICADO);
 	        throw new ConflictException("Associado já votou nesta pauta");
 	    }
+	    t = metricas.etapa(EtapaVoto.DEDUP, t);
 
 	    Voto v = new Voto();
 	    v.setPautaId(pautaId);   // <- SEMPRE usa o id do PATH
-	    v.setCpf(cpf);
+	    v.setCpf(cpfNum);
 	    v.setOpcao(opcao);
 	    v.setCreatedAt(Instant.now(clock));
 
+	    boolean admitido;
 	    try {
-	        votos.save(v);
-	    } catch (org.springframework.dao.DataIntegrityViolationException e) {
+	        admitido = gravar(v);
+	    } catch (DataIntegrityViolationException e) {
+	        metricas.desfecho(Desfecho.DUPLICADO);
 	        throw new ConflictException("Associado já votou nesta pauta");
+	    } catch (ConflictException e) {
+	        metricas.desfecho(Desfecho.DUPLICADO);
+	        throw e;
+	    } catch (RuntimeException e) {
+	        // não gravou: devolve a reserva para o associado poder tentar de novo
+	        dedup.liberar(pautaId, cpfNum);
+	        metricas.desfecho(e instanceof ServiceUnavailableException ? Desfecho.INDISPONIVEL : Desfecho.ERRO);
+	        throw e;
+	    }
+	    if (!admitido) {
+	        // a sessão fechou entre a checagem pelo cache e o INSERT
+	        dedup.liberar(pautaId, cpfNum);
+	        janelas.invalidar(pautaId);
+	        metricas.desfecho(Desfecho.SESSAO_ENCERRADA);
+	        throw new UnprocessableException("Sessão encerrada");
+	    }
+	    metricas.etapa(EtapaVoto.GRAVACAO, t);
+	    metricas.desfecho(Desfecho.CRIADO);
+	}
+
+	/**
+	 * Grava o voto e soma no placar na mesma transação (com journal, na hora em que ele for aplicado).
+	 * @return false se o banco recusou por sessão fechada (caminho direto e group commit)
+	 */
+	private boolean gravar(Voto v) {
+	    // journal ligado: confirmado quando a entrada está no disco; a tabela voto vem logo depois
+	    if (journal.isEnabled()) {
+	        journal.gravar(v);
+	        return true;
+	    }
+	    // group commit ligado: o voto vai para o lote e esperamos o commit dele
+	    if (groupCommitter.isEnabled()) {
+	        return groupCommitter.gravar(v);
+	    }
+	    // um INSERT ... SELECT confere a sessão e grava; consulta extra só quando nada entrou
+	    Admissao a = bulkhead.executar(() -> tx.execute(st -> {
+	        Admissao r = batchRepo.admitir(v);
+	        if (r == Admissao.CRIADO) placar.registrar(v.getPautaId(), v.getOpcao());
+	        return r;
+	    }));
+	    if (a == Admissao.DUPLICADO) throw new ConflictException("Associado já votou nesta pauta");
+	    return a == Admissao.CRIADO;
+	}
+
+	/** 404 se a pauta não existir (usado antes de começar a responder um lote em streaming). */
+	public void exigirPauta(UUID pautaId) {
+	    if (janelas.get(pautaId) == null) {
+	        throw new NotFoundException("Pauta não encontrada");
+	    }
+	}
+
+	/**
+	 * Mesmas regras do {@link #votar}, aplicadas a um pedaço de um envio em lote: a sessão é checada uma
+	 * vez por pedaço pelo cache, cada linha é validada e deduplicada, e as válidas vão num único INSERT
+	 * em batch que confere de novo a sessão no banco (linha travada): pedaço que chega depois do
+	 * congelamento sai como SESSAO_ENCERRADA em vez de gravar fora do resultado_final.
+	 * {@code voto} nulo = a linha não era JSON válido.
+	 */
+	public List<VotoLoteResultado> votarLote(UUID pautaId, List<LinhaLote> linhas) {
+	    List<VotoLoteResultado> out = processarLote(pautaId, linhas);
+	    contarDesfechos(out);
+	    return out;
+	}
+
+	private List<VotoLoteResultado> processarLote(UUID pautaId, List<LinhaLote> linhas) {
+	    List<VotoLoteResultado> out = new ArrayList<>(linhas.size());
+
+	    SessaoJanelaCache.Janela janela = janelas.get(pautaId);
+	    if (janela == null) {
+	        throw new NotFoundException("Pauta não encontrada");
+	    }
+	    if (!janela.temSessao()) {
+	        janela = criarSessaoPadrao(pautaId);
+	    }
+	    if (!isAbertaAgora(janela)) {
+	        dedup.descartar(pautaId);
+	        for (LinhaLote l : linhas) {
+	            out.add(new VotoLoteResultado(l.numero(), StatusVotoLote.SESSAO_ENCERRADA, "Sessão encerrada"));
+	        }
+	        return out;
+	    }
+
+	    // 1ª passada: validação local; as consultas de elegibilidade das linhas válidas saem todas juntas
+	    List<CompletableFuture<ElegibilidadeService.Veredito>> vereditos = new ArrayList<>(linhas.size());
+	    long[] cpfs = new long[linhas.size()];
+	    for (int i = 0; i < linhas.size(); i++) {
+	        VotoRequest req = linhas.get(i).voto();
+	        cpfs[i] = req == null ? Cpf.INVALIDO : req.cpf();
+	        boolean valida = Cpf.isValido(cpfs[i]) && req.opcao() != null;
+	        vereditos.add(valida ? elegibilidade.verificar(cpfs[i]) : null);
+	    }
+
+	    Instant agora = Instant.now(clock);
+	    List<Voto> novos = new ArrayList<>();
+	    List<Integer> posicoes = new ArrayList<>();
+	    for (int i = 0; i < linhas.size(); i++) {
+	        long linha = linhas.get(i).numero();
+	        VotoRequest req = linhas.get(i).voto();
+	        long cpf = cpfs[i];
+	        if (req == null) {
+	            out.add(new VotoLoteResultado(linha, StatusVotoLote.INVALIDO, "JSON inválido"));
+	        } else if (!Cpf.isValido(cpf)) {
+	            out.add(new VotoLoteResultado(linha, StatusVotoLote.INVALIDO, "CPF inválido"));
+	        } else if (req.opcao() == null) {
+	            out.add(new VotoLoteResultado(linha, StatusVotoLote.INVALIDO, "Opção inválida (use SIM ou NAO)"));
+	        } else {
+	            VotoLoteResultado recusa = recusaElegibilidade(linha, vereditos.get(i));
+	            if (recusa != null) {
+	                out.add(recusa);
+	            } else if (!dedup.reservar(pautaId, cpf)) {
+	                out.add(new VotoLoteResultado(linha, StatusVotoLote.DUPLICADO, "Associado já votou nesta pauta"));
+	            } else {
+	                Voto v = new Voto();
+	                v.setPautaId(pautaId);
+	                v.setCpf(cpf);
+	                v.setOpcao(req.opcao());
+	                v.setCreatedAt(agora);
+	                novos.add(v);
+	                posicoes.add(out.size());
+	                out.add(null); // preenchido depois do insert
+	            }
+	        }
+	    }
+	    if (novos.isEmpty()) return out;
+
+	    Admissao[] admissao;
+	    try {
+	        admissao = bulkhead.executar(() -> batchRepo.insertAllSeAberta(novos, placar::registrar));
+	    } catch (RuntimeException e) {
+	        for (Voto v : novos) dedup.liberar(pautaId, v.getCpf());
+	        throw e;
+	    }
+	    boolean encerrada = false;
+	    for (int k = 0; k < novos.size(); k++) {
+	        int pos = posicoes.get(k);
+	        long linha = linhas.get(pos).numero();
+	        out.set(pos, switch (admissao[k]) {
+	            case CRIADO -> new VotoLoteResultado(linha, StatusVotoLote.CRIADO, null);
+	            case DUPLICADO -> new VotoLoteResultado(linha, StatusVotoLote.DUPLICADO, "Associado já votou nesta pauta");
+	            case ENCERRADA -> {
+	                // a sessão fechou entre a checagem pelo cache e o INSERT
+	                dedup.liberar(pautaId, novos.get(k).getCpf());
+	                encerrada = true;
+	                yield new VotoLoteResultado(linha, StatusVotoLote.SESSAO_ENCERRADA, "Sessão encerrada");
+	            }
+	        });
+	    }
+	    if (encerrada) janelas.invalidar(pautaId);
+	    return out;
+	}
+
+	private void contarDesfechos(List<VotoLoteResultado> out) {
+	    long[] n = new long[Desfecho.values().length];
+	    for (VotoLoteResultado r : out) {
+	        Desfecho d = switch (r.status()) {
+	            case CRIADO -> Desfecho.CRIADO;
+	            case DUPLICADO -> Desfecho.DUPLICADO;
+	            case SESSAO_ENCERRADA -> Desfecho.SESSAO_ENCERRADA;
+	            case INAPTO -> Desfecho.INAPTO;
+	            case INDISPONIVEL -> Desfecho.INDISPONIVEL;
+	            case INVALIDO -> "CPF inválido".equals(r.mensagem()) ? Desfecho.CPF_INVALIDO : Desfecho.REQUISICAO_INVALIDA;
+	        };
+	        n[d.ordinal()]++;
+	    }
+	    for (Desfecho d : Desfecho.values()) metricas.desfecho(d, n[d.ordinal()]);
+	}
+
+	/** null se a linha pode votar; senão o resultado de recusa dela. */
+	private static VotoLoteResultado recusaElegibilidade(long linha, CompletableFuture<ElegibilidadeService.Veredito> f) {
+	    ElegibilidadeService.Veredito v;
+	    try {
+	        v = f.join();
+	    } catch (CompletionException e) {
+	        if (e.getCause() instanceof ServiceUnavailableException) {
+	            return new VotoLoteResultado(linha, StatusVotoLote.INDISPONIVEL, e.getCause().getMessage());
+	        }
+	        throw e;
+	    }
+	    return switch (v) {
+	        case APTO -> null;
+	        case INAPTO -> new VotoLoteResultado(linha, StatusVotoLote.INAPTO, "Associado não está apto a votar");
+	        case CPF_INVALIDO -> new VotoLoteResultado(linha, StatusVotoLote.INVALIDO, "CPF inválido");
+	    };
+	}
+
+	private SessaoJanelaCache.Janela criarSessaoPadrao(UUID pautaId) {
+	    try {
+	        SessaoVotacao s = bulkhead.executar(() -> sessoes.save(new SessaoVotacao(pautaId, Instant.now(clock), 60)));
+	        janelas.invalidar(pautaId);
+	        events.publishEvent(new SessaoAbertaEvent(pautaId, s.getClosesAt()));
+	        return SessaoJanelaCache.janela(s);
+	    } catch (DataIntegrityViolationException e) {
+	        // outra requisição abriu a sessão ao mesmo tempo: usa a dela
+	        janelas.invalidar(pautaId);
+	        return janelas.get(pautaId);
 	    }
 	}
 
-	private boolean isAbertaAgora(SessaoVotacao s) {
-	    if (s == null || s.getClosesAt() == null) return false;
-	    final String status = String.valueOf(s.getStatus());
-	    final boolean statusAberta = status != null && "ABERTA".equalsIgnoreCase(status.trim());
-	    return statusAberta && Instant.now(clock).isBefore(s.getClosesAt());
+	private boolean isAbertaAgora(SessaoJanelaCache.Janela j) {
+	    return j != null && j.isAbertaAgora(Instant.now(clock));
 	}
 
 
 	public ResultadoResponse resultado(UUID pautaId) {
-		pautas.findById(pautaId).orElseThrow(() -> new NotFoundException("Pauta não encontrada"));
-		SessaoVotacao s = sessoes.findByPautaId(pautaId)
-				.orElseThrow(() -> new NotFoundException("Sessão não encontrada"));
-
-		List<Object[]> rows = votos.countByOpcao(pautaId);
-		long sim = 0, nao = 0;
-		for (Object[] r : rows) {
-			String opcao = r[0].toString();
-			long count = ((Number) r[1]).longValue();
-			if ("SIM".equalsIgnoreCase(opcao))
-				sim = count;
-			else if ("NAO".equalsIgnoreCase(opcao))
-				nao = count;
-		}
+		SessaoJanelaCache.Janela s = janelas.get(pautaId);
+		if (s == null) throw new NotFoundException("Pauta não encontrada");
+		if (!s.temSessao()) throw new NotFoundException("Sessão não encontrada");
 
+		PlacarStore.Contagem c = placar.contagem(pautaId);
 		String status = isAbertaAgora(s) ? "ABERTA" : "ENCERRADA";
-		return new ResultadoResponse(sim, nao, sim + nao, status);
+		return new ResultadoResponse(c.sim(), c.nao(), c.total(), status);
 	}
 }
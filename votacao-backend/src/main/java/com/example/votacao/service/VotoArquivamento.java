@@ -0,0 +1,125 @@
+package com.example.votacao.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.votacao.repository.VotoArquivoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retenção da tabela voto: a cada {@code intervalo-ms}, pautas encerradas há mais de {@code apos-horas}
+ * têm os votos movidos para {@code voto_arquivo}, {@code lote} linhas por transação (intervalo da PK,
+ * locks curtos) com {@code pausa-ms} entre lotes. Terminada a pauta, os shards dela em voto_tally são
+ * apagados e {@code resultado_final.arquivada_em} preenchido; o resultado continua saindo do
+ * resultado_final e o export lê as duas tabelas.
+ * <p>
+ * Rodar em todas as réplicas é seguro: duas movendo o mesmo lote colidem na PK do arquivo e uma delas
+ * desiste da pauta (rollback, nada duplicado).
+ */
+@Slf4j
+@Component
+public class VotoArquivamento {
+
+    private final VotoArquivoRepository arquivo;
+    private final DbBulkhead bulkhead;
+    private final TransactionTemplate tx;
+    private final Clock clock;
+    private final long intervaloMs;
+    private final Duration apos;
+    private final int lote;
+    private final long pausaMs;
+    private final int pautasPorRodada;
+    private final Counter arquivados;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "voto-arquivamento");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public VotoArquivamento(VotoArquivoRepository arquivo, DbBulkhead bulkhead, TransactionTemplate tx, Clock clock,
+            @Value("${votacao.arquivamento.intervalo-ms:3600000}") long intervaloMs,
+            @Value("${votacao.arquivamento.apos-horas:24}") long aposHoras,
+            @Value("${votacao.arquivamento.lote:5000}") int lote,
+            @Value("${votacao.arquivamento.pausa-ms:50}") long pausaMs,
+            @Value("${votacao.arquivamento.pautas-por-rodada:100}") int pautasPorRodada, MeterRegistry registry) {
+        this.arquivo = arquivo;
+        this.bulkhead = bulkhead;
+        this.tx = tx;
+        this.clock = clock;
+        this.intervaloMs = intervaloMs;
+        this.apos = Duration.ofHours(Math.max(0, aposHoras));
+        this.lote = Math.max(1, lote);
+        this.pausaMs = Math.max(0, pausaMs);
+        this.pautasPorRodada = Math.max(1, pautasPorRodada);
+        this.arquivados = Counter.builder("votacao.arquivamento.votos").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (intervaloMs <= 0) return;
+        executor.scheduleWithFixedDelay(this::rodar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void rodar() {
+        try {
+            int n = arquivar();
+            if (n > 0) log.info("{} pautas arquivadas", n);
+        } catch (RuntimeException e) {
+            log.error("Falha no arquivamento de votos", e);
+        }
+    }
+
+    /** Uma rodada: arquiva até {@code pautas-por-rodada} pautas elegíveis. @return quantas terminaram */
+    public int arquivar() {
+        List<UUID> pautas = bulkhead.executar(() -> arquivo.candidatas(Instant.now(clock).minus(apos), pautasPorRodada));
+        int concluidas = 0;
+        for (UUID pautaId : pautas) {
+            if (Thread.currentThread().isInterrupted()) break;
+            if (arquivarPauta(pautaId)) concluidas++;
+        }
+        return concluidas;
+    }
+
+    private boolean arquivarPauta(UUID pautaId) {
+        long movidos = 0;
+        try {
+            int n;
+            while ((n = bulkhead.executar(() -> tx.execute(st -> arquivo.moverLote(pautaId, lote)))) > 0) {
+                movidos += n;
+                arquivados.increment(n);
+                if (pausaMs > 0) Thread.sleep(pausaMs); // deixa o banco respirar entre lotes
+            }
+            bulkhead.executar(() -> tx.executeWithoutResult(st -> arquivo.concluir(pautaId, Instant.now(clock))));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Pauta {} sendo arquivada por outra instância", pautaId);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        log.debug("Pauta {} arquivada ({} votos)", pautaId, movidos);
+        return true;
+    }
+}
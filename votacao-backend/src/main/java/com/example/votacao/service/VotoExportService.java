@@ -0,0 +1,77 @@
+package com.example.votacao.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.enums.FormatoExport;
+import com.example.votacao.repository.VotoExportRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Export dos votos de uma pauta para auditoria, em CSV ({@code cpf,opcao,created_at}) ou NDJSON. As
+ * linhas saem do cursor JDBC direto para a resposta, por um buffer de tamanho fixo: a memória não
+ * cresce com o número de votos. Vai para a réplica quando ela está em dia.
+ * <p>
+ * Com {@code mascarar} o CPF sai como {@code ***.456.789-**}.
+ */
+@Slf4j
+@Service
+public class VotoExportService {
+
+    private static final byte[] CABECALHO_CSV = "cpf,opcao,created_at\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final VotoExportRepository repo;
+    private final LeituraRoteada leitura;
+
+    public VotoExportService(VotoExportRepository repo, LeituraRoteada leitura) {
+        this.repo = repo;
+        this.leitura = leitura;
+    }
+
+    public void exportar(UUID pautaId, FormatoExport formato, boolean mascarar, OutputStream destino) throws IOException {
+        long inicio = System.nanoTime();
+        BufferedOutputStream out = new BufferedOutputStream(destino, 64 * 1024);
+        if (formato == FormatoExport.CSV) out.write(CABECALHO_CSV);
+        long[] linhas = new long[1];
+        try {
+            leitura.executar(() -> {
+                repo.percorrer(pautaId, rs -> {
+                    String cpf = mascarar ? Cpf.mascarar(rs.getLong(1)) : Cpf.formatar(rs.getLong(1));
+                    String opcao = rs.getString(2);
+                    String createdAt = rs.getObject(3, LocalDateTime.class).toInstant(ZoneOffset.UTC).toString();
+                    escrever(out, formato, cpf, opcao, createdAt);
+                    linhas[0]++;
+                });
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            // cliente desconectou no meio: não há mais o que responder
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Export dos votos da pauta {} ({}): {} linhas em {} ms", pautaId, formato, linhas[0],
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static void escrever(OutputStream out, FormatoExport formato, String cpf, String opcao, String createdAt) {
+        // só dígitos, '*', '.', '-', SIM/NAO e ISO-8601: nada a escapar em nenhum dos formatos
+        String linha = formato == FormatoExport.CSV
+                ? cpf + ',' + opcao + ',' + createdAt + '\n'
+                : "{\"cpf\":\"" + cpf + "\",\"opcao\":\"" + opcao + "\",\"createdAt\":\"" + createdAt + "\"}\n";
+        try {
+            out.write(linha.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.votacao.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.exception.ConflictException;
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.repository.VotoBatchRepository.Admissao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit de votos: as chamadas concorrentes de {@code votar} entram numa fila limitada e uma
+ * única thread grava os votos em lote (um INSERT em batch + um commit por lote), disparando por
+ * tamanho ({@code max-batch}) ou por tempo ({@code max-delay-ms}). Cada chamador recebe o próprio
+ * resultado (ok / conflito / sessão encerrada) quando o lote dele é confirmado; o placar já foi somado
+ * no mesmo commit.
+ * <p>
+ * Quem desiste por {@code ack-timeout-ms} antes de o flusher pegar o voto tira ele do lote (503, nada
+ * gravado). O lote confere a sessão no banco com a linha travada, então um voto que chega depois do
+ * congelamento do resultado é recusado em vez de ficar na tabela voto fora do resultado_final.
+ */
+@Slf4j
+@Component
+public class VotoGroupCommitter {
+
+    private static final class Pendente {
+        final Voto voto;
+        final CompletableFuture<Boolean> ack = new CompletableFuture<>();
+        /** Quem virar primeiro decide: o flusher (vai gravar) ou o chamador que desistiu (não grava mais). */
+        final AtomicBoolean tomado = new AtomicBoolean();
+
+        Pendente(Voto voto) {
+            this.voto = voto;
+        }
+    }
+
+    private final VotoBatchRepository batchRepo;
+    private final PlacarStore placar;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final long ackTimeoutMs;
+    private final BlockingQueue<Pendente> fila;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public VotoGroupCommitter(VotoBatchRepository batchRepo, PlacarStore placar,
+            @Value("${votacao.ingest.group-commit.enabled:false}") boolean enabled,
+            @Value("${votacao.ingest.group-commit.max-batch:256}") int maxBatch,
+            @Value("${votacao.ingest.group-commit.max-delay-ms:5}") long maxDelayMs,
+            @Value("${votacao.ingest.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${votacao.ingest.group-commit.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.batchRepo = batchRepo;
+        this.placar = placar;
+        this.enabled = enabled;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMs));
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.fila = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = new Thread(this::loop, "voto-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Group commit de votos ativo (maxBatch={}, maxDelay={}ms)", maxBatch,
+                TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Enfileira o voto e bloqueia até o commit do lote que o contém.
+     * @return false se a sessão já estava encerrada quando o lote chegou ao banco
+     */
+    public boolean gravar(Voto v) {
+        var p = new Pendente(v);
+        if (!running || !fila.offer(p)) {
+            throw new ServiceUnavailableException("Fila de votos cheia, tente novamente");
+        }
+        try {
+            try {
+                return p.ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (p.tomado.compareAndSet(false, true)) {
+                    throw new ServiceUnavailableException("Tempo esgotado aguardando gravação do voto");
+                }
+                // o flusher já pegou: o lote está no banco, o desfecho dele é a resposta
+                return p.ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Tempo esgotado aguardando gravação do voto");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Gravação do voto interrompida");
+        }
+    }
+
+    private void loop() {
+        List<Pendente> lote = new ArrayList<>(maxBatch);
+        while (running || !fila.isEmpty()) {
+            try {
+                Pendente first = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                lote.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (lote.size() < maxBatch) {
+                    long restante = deadline - System.nanoTime();
+                    Pendente p = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : fila.poll();
+                    if (p == null) break;
+                    lote.add(p);
+                }
+            } catch (InterruptedException e) {
+                // stop(): drena o que sobrou antes de sair
+                fila.drainTo(lote);
+            }
+            if (!lote.isEmpty()) {
+                flush(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pendente> lote) {
+        // chamador que já desistiu (timeout) fica de fora; mesmo CPF duas vezes no mesmo lote: só o
+        // primeiro entra, os demais já saem com 409
+        Set<Voto.Chave> vistos = new HashSet<>();
+        List<Pendente> unicos = new ArrayList<>(lote.size());
+        for (Pendente p : lote) {
+            if (!p.tomado.compareAndSet(false, true)) continue;
+            if (vistos.add(new Voto.Chave(p.voto.getPautaId(), p.voto.getCpf()))) unicos.add(p);
+            else p.ack.completeExceptionally(conflito());
+        }
+        if (unicos.isEmpty()) return;
+
+        try {
+            List<Voto> votos = new ArrayList<>(unicos.size());
+            for (Pendente p : unicos) votos.add(p.voto);
+            Admissao[] admissao = batchRepo.insertAllSeAberta(votos, placar::registrar);
+            for (int i = 0; i < unicos.size(); i++) {
+                if (admissao[i] == Admissao.DUPLICADO) unicos.get(i).ack.completeExceptionally(conflito());
+                else unicos.get(i).ack.complete(admissao[i] == Admissao.CRIADO);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha gravando lote de {} votos", unicos.size(), e);
+            for (Pendente p : unicos) p.ack.completeExceptionally(e);
+        }
+    }
+
+    private static ConflictException conflito() {
+        return new ConflictException("Associado já votou nesta pauta");
+    }
+}
@@ -0,0 +1,388 @@
+package com.example.votacao.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.repository.VotoBatchRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal local de votos ({@code votacao.ingest.journal.enabled}): o voto é escrito num arquivo mapeado
+ * em memória (ver {@link JournalSegmento}) e o {@code votar} só responde quando ele e todos os
+ * anteriores estão no disco (marca {@code duraveis}, forçada em grupo). Uma thread aplica as entradas na tabela voto em lote, pelo mesmo INSERT
+ * idempotente do group commit (voto já existente é ignorado), e soma o placar no mesmo commit.
+ * <p>
+ * O último seq aplicado fica no arquivo {@code aplicado}; segmentos inteiramente aplicados são
+ * apagados. Na subida, o que está no journal e ainda não foi aplicado é aplicado antes de o serviço
+ * aceitar votos, então o índice de CPFs (carregado do banco) já enxerga esses votos.
+ * <p>
+ * Banco fora (falha transitória) faz o aplicador tentar de novo a mesma entrada; entrada que o banco
+ * recusa por si (ex.: pauta que não existe mais) vai para {@code rejeitados.ndjson}, conta em
+ * {@code votacao.journal.rejeitados} e deixa de bloquear as seguintes.
+ * <p>
+ * O journal é da instância: com várias réplicas, o mesmo CPF votando em duas delas ao mesmo tempo
+ * recebe 201 nas duas e só o primeiro aplicado vale. O resultado fica atrás do voto confirmado pelo
+ * tempo de aplicação (em geral poucos ms); o encerramento da sessão espera o journal esvaziar.
+ */
+@Slf4j
+@Component
+public class VotoJournal {
+
+    private static final String CHECKPOINT = "aplicado";
+    private static final String REJEITADOS = "rejeitados.ndjson";
+
+    private final VotoBatchRepository batchRepo;
+    private final PlacarStore placar;
+    private final DbBulkhead bulkhead;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Path dir;
+    private final int capacidadeSegmento;
+    private final int loteAplicacao;
+    private final long intervaloNanos;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantLock forca = new ReentrantLock();
+    /** Segmentos do mais antigo (o que o aplicador lê) ao ativo (onde se escreve). */
+    private final ConcurrentLinkedDeque<JournalSegmento> segmentos = new ConcurrentLinkedDeque<>();
+    private volatile JournalSegmento ativo;
+    private long proximoSeq;
+    /** Seqs menores que este estão escritos por inteiro (publicado após a escrita, lido pelo aplicador). */
+    private volatile long escritos;
+    /** Seqs menores que este estão no disco, sem buraco: até aqui se confirma o voto e se aplica. */
+    private volatile long duraveis;
+    private volatile long aplicado;
+    private FileChannel checkpoint;
+
+    private final Counter ignorados;
+    private final Counter rejeitados;
+
+    private volatile boolean running;
+    private Thread aplicador;
+
+    public VotoJournal(VotoBatchRepository batchRepo, PlacarStore placar, DbBulkhead bulkhead, MeterRegistry registry,
+            @Value("${votacao.ingest.journal.enabled:false}") boolean enabled,
+            @Value("${votacao.ingest.journal.dir:./data/journal}") String dir,
+            @Value("${votacao.ingest.journal.segment-bytes:67108864}") long segmentBytes,
+            @Value("${votacao.ingest.journal.apply-batch:500}") int loteAplicacao,
+            @Value("${votacao.ingest.journal.apply-interval-ms:2}") long intervaloMs) {
+        this.batchRepo = batchRepo;
+        this.placar = placar;
+        this.bulkhead = bulkhead;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.capacidadeSegmento = (int) Math.max(1, Math.min(segmentBytes, Integer.MAX_VALUE) / JournalSegmento.TAMANHO_ENTRADA);
+        this.loteAplicacao = Math.max(1, loteAplicacao);
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloMs));
+        // já estava na tabela: reaplicação após queda, ou o mesmo CPF confirmado em outra réplica
+        this.ignorados = Counter.builder("votacao.journal.ignorados").register(registry);
+        // recusada pelo banco e movida para rejeitados.ndjson: qualquer valor acima de zero é alarme
+        this.rejeitados = Counter.builder("votacao.journal.rejeitados").register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+        abrir();
+        int reaplicados = aplicarPendentes();
+        running = true;
+        aplicador = new Thread(this::loop, "voto-journal");
+        aplicador.setDaemon(true);
+        aplicador.start();
+        Gauge.builder("votacao.journal.pendentes", this, VotoJournal::pendentes).register(registry);
+        log.info("Journal de votos ativo em {} ({} entradas reaplicadas na subida, próximo seq {})",
+                dir.toAbsolutePath(), reaplicados, proximoSeq);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(aplicador);
+        aplicador.join(TimeUnit.SECONDS.toMillis(5));
+        for (JournalSegmento s : segmentos) s.fechar();
+        checkpoint.close();
+    }
+
+    /** Escreve o voto no journal e volta quando ela e todas as anteriores estão no disco. */
+    public void gravar(Voto v) {
+        if (!running) throw new ServiceUnavailableException("Journal de votos indisponível");
+        JournalSegmento s;
+        long seq;
+        escrita.lock();
+        try {
+            if (proximoSeq > ativo.ultimoSeq()) rolar();
+            seq = proximoSeq++;
+            s = ativo;
+            s.escrever(seq, v);
+            escritos = proximoSeq;
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Falha abrindo segmento do journal");
+        } finally {
+            escrita.unlock();
+        }
+        forcarAte(seq + 1);
+        LockSupport.unpark(aplicador);
+    }
+
+    /**
+     * Force em grupo: quem pega o lock força tudo o que foi escrito desde a última marca e avança
+     * {@code duraveis}; quem chega depois e já está coberto volta sem msync. Forçar só a própria entrada
+     * (fora de ordem) deixaria a seguinte no disco e a anterior não, e a subida corta o journal no buraco.
+     */
+    private void forcarAte(long alvo) {
+        if (duraveis >= alvo) return;
+        forca.lock();
+        try {
+            if (duraveis >= alvo) return;
+            long de = duraveis;
+            long ate = escritos;
+            for (JournalSegmento s : segmentos) s.forcar(de, ate);
+            duraveis = ate;
+        } finally {
+            forca.unlock();
+        }
+    }
+
+    /** Espera até tudo o que foi escrito até agora estar na tabela voto (ex.: antes de congelar o placar). */
+    public boolean aguardarAplicacao(long timeoutMs) {
+        if (!enabled) return true;
+        long alvo = escritos - 1;
+        forcarAte(alvo + 1);
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (aplicado < alvo) {
+            if (System.nanoTime() - limite > 0) return false;
+            LockSupport.unpark(aplicador);
+            LockSupport.parkNanos(intervaloNanos);
+        }
+        return true;
+    }
+
+    long pendentes() {
+        return Math.max(0, duraveis - 1 - aplicado);
+    }
+
+    /** Lê o checkpoint, valida os segmentos existentes e posiciona a escrita depois da última entrada válida. */
+    private void abrir() throws IOException {
+        Files.createDirectories(dir);
+        checkpoint = FileChannel.open(dir.resolve(CHECKPOINT), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer b = ByteBuffer.allocate(16);
+        checkpoint.read(b, 0);
+        b.flip();
+        // seq e o complemento dele: checkpoint pela metade vale como "nada aplicado" (reaplicar é idempotente)
+        aplicado = b.remaining() == 16 && b.getLong(0) == ~b.getLong(8) ? b.getLong(0) : 0;
+
+        List<Path> arquivos;
+        try (Stream<Path> s = Files.list(dir)) {
+            arquivos = s.filter(JournalSegmento::ehSegmento).sorted().toList();
+        }
+        long esperado = -1;
+        boolean fim = false;
+        for (Path p : arquivos) {
+            if (fim) {
+                // depois de uma entrada inválida ou de um buraco nada é confiável, e o arquivo seria
+                // reaberto (com entradas velhas) quando a escrita chegasse nele
+                log.warn("Segmento {} depois do fim do journal, apagado", p);
+                Files.delete(p);
+                continue;
+            }
+            JournalSegmento seg = JournalSegmento.existente(p);
+            if (esperado >= 0 && seg.primeiroSeq != esperado) {
+                seg.fechar();
+                log.warn("Segmento {} fora de sequência (esperado seq {}), apagado", p, esperado);
+                Files.delete(p);
+                fim = true;
+                continue;
+            }
+            segmentos.addLast(seg);
+            int validas = seg.contarValidas();
+            esperado = seg.primeiroSeq + validas;
+            fim = validas < seg.capacidade; // talvez uma escrita interrompida pela queda
+            if (fim) {
+                int depois = seg.contarValidasDesde(validas + 1);
+                if (depois > 0) {
+                    // o voto só é confirmado com tudo antes dele no disco: o que vem depois do buraco nunca
+                    // recebeu 201, mas fica o registro
+                    log.warn("Segmento {}: {} entradas válidas depois do buraco em seq {}, nunca confirmadas; descartadas",
+                            p, depois, esperado);
+                }
+                // a escrita recomeça no buraco: a cauda velha sai do disco antes, senão a próxima subida
+                // emendaria nela
+                seg.zerarDesde(validas);
+            }
+        }
+        proximoSeq = esperado >= 0 ? esperado : aplicado + 1;
+        if (segmentos.isEmpty() || proximoSeq > segmentos.peekLast().ultimoSeq()) {
+            segmentos.addLast(JournalSegmento.abrir(dir, proximoSeq, capacidadeSegmento));
+        }
+        ativo = segmentos.peekLast();
+        escritos = proximoSeq;
+        duraveis = proximoSeq;
+        // checkpoint e journal fora de sincronia (arquivos apagados à mão, por exemplo)
+        aplicado = Math.max(Math.min(aplicado, proximoSeq - 1), segmentos.peekFirst().primeiroSeq - 1);
+    }
+
+    private void rolar() throws IOException {
+        JournalSegmento novo = JournalSegmento.abrir(dir, proximoSeq, capacidadeSegmento);
+        segmentos.addLast(novo);
+        ativo = novo;
+    }
+
+    private int aplicarPendentes() {
+        int total = 0;
+        int n;
+        while ((n = aplicarLote()) > 0) total += n;
+        return total;
+    }
+
+    private void loop() {
+        while (running || pendentes() > 0) {
+            try {
+                if (aplicarLote() == 0) LockSupport.parkNanos(intervaloNanos);
+            } catch (RuntimeException e) {
+                // só falha transitória chega aqui (banco fora, pool cheio): as entradas continuam no journal
+                log.error("Falha aplicando journal de votos (aplicado até seq {})", aplicado, e);
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+                if (!running) return;
+            }
+        }
+    }
+
+    /** Aplica até {@code loteAplicacao} entradas a partir de {@code aplicado + 1}; devolve quantas aplicou. */
+    private int aplicarLote() {
+        long inicio = aplicado + 1;
+        long fim = Math.min(duraveis, inicio + loteAplicacao);
+        if (inicio >= fim) return 0;
+        List<Voto> votos = new ArrayList<>((int) (fim - inicio));
+        JournalSegmento seg = segmentos.peekFirst();
+        for (long seq = inicio; seq < fim; seq++) {
+            while (seq > seg.ultimoSeq()) seg = proximo(seg);
+            votos.add(seg.ler(seq));
+        }
+        boolean[] gravado;
+        try {
+            gravado = aplicar(votos);
+        } catch (RuntimeException e) {
+            if (transitoria(e)) throw e;
+            // alguma entrada do lote o banco não aceita nunca: separa uma a uma
+            return aplicarUmAUm(inicio, votos);
+        }
+        for (boolean g : gravado) if (!g) ignorados.increment();
+        salvarCheckpoint(fim - 1);
+        descartarAplicados();
+        return votos.size();
+    }
+
+    private boolean[] aplicar(List<Voto> votos) {
+        return bulkhead.executar(() -> batchRepo.insertAllSkippingDuplicates(votos, placar::registrar));
+    }
+
+    /** Caminho raro: checkpoint a cada entrada, para a falha transitória no meio não reaplicar a rejeitada. */
+    private int aplicarUmAUm(long inicio, List<Voto> votos) {
+        for (int i = 0; i < votos.size(); i++) {
+            long seq = inicio + i;
+            Voto v = votos.get(i);
+            try {
+                if (!aplicar(List.of(v))[0]) ignorados.increment();
+            } catch (RuntimeException e) {
+                if (transitoria(e)) throw e;
+                rejeitar(seq, v, e);
+            }
+            salvarCheckpoint(seq);
+        }
+        descartarAplicados();
+        return votos.size();
+    }
+
+    /** Banco fora ou ocupado: a mesma entrada pode entrar depois. O resto é problema da própria entrada. */
+    private static boolean transitoria(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof TransactionException
+                || e instanceof ServiceUnavailableException;
+    }
+
+    /** Guarda a entrada em {@code rejeitados.ndjson} (com o CPF, para reprocessar à mão) antes de passar dela. */
+    private void rejeitar(long seq, Voto v, RuntimeException e) {
+        String linha = String.format("{\"seq\":%d,\"pautaId\":\"%s\",\"cpf\":%d,\"opcao\":\"%s\",\"createdAt\":\"%s\",\"erro\":\"%s\"}%n",
+                seq, v.getPautaId(), v.getCpf(), v.getOpcao(), v.getCreatedAt(), e.getClass().getSimpleName());
+        try {
+            Files.writeString(dir.resolve(REJEITADOS), linha, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException io) {
+            // sem registro não passa da entrada: o loop tenta de novo
+            throw new UncheckedIOException(io);
+        }
+        rejeitados.increment();
+        log.error("Entrada seq {} do journal recusada pelo banco (pauta {}), movida para {}", seq, v.getPautaId(),
+                dir.resolve(REJEITADOS), e);
+    }
+
+    private JournalSegmento proximo(JournalSegmento seg) {
+        boolean achou = false;
+        for (JournalSegmento s : segmentos) {
+            if (achou) return s;
+            achou = s == seg;
+        }
+        throw new IllegalStateException("Segmento seguinte ao de seq " + seg.primeiroSeq + " não encontrado");
+    }
+
+    private void salvarCheckpoint(long seq) {
+        ByteBuffer b = ByteBuffer.allocate(16).putLong(seq).putLong(~seq).flip();
+        try {
+            checkpoint.write(b, 0);
+            checkpoint.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        aplicado = seq;
+    }
+
+    /** Apaga os segmentos cujas entradas já foram todas aplicadas (nunca o ativo). */
+    private void descartarAplicados() {
+        JournalSegmento s;
+        while ((s = segmentos.peekFirst()) != null && s.ultimoSeq() <= aplicado && s != ativo) {
+            segmentos.pollFirst();
+            try {
+                s.fechar();
+                Files.deleteIfExists(s.arquivo);
+            } catch (IOException e) {
+                log.warn("Não consegui apagar o segmento {}", s.arquivo, e);
+            }
+        }
+    }
+}
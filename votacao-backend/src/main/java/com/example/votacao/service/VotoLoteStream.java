@@ -0,0 +1,74 @@
+package com.example.votacao.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.votacao.dto.VotoLoteResultado;
+import com.example.votacao.dto.VotoRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lê um corpo NDJSON (um {@link VotoRequest} por linha; linhas em branco são ignoradas) em streaming, sem bufferizar o envio inteiro:
+ * a cada {@code batch-size} linhas chama {@link VotacaoService#votarLote} e já escreve o resultado de
+ * cada linha na resposta, também em NDJSON.
+ */
+@Component
+public class VotoLoteStream {
+
+    private final VotacaoService votacaoService;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+
+    public VotoLoteStream(VotacaoService votacaoService, ObjectMapper mapper,
+            @Value("${votacao.bulk.batch-size:500}") int batchSize) {
+        this.votacaoService = votacaoService;
+        this.mapper = mapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void processar(UUID pautaId, InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<VotacaoService.LinhaLote> pedaco = new ArrayList<>(batchSize);
+        long numero = 0;
+        String texto;
+        while ((texto = reader.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) continue;
+            pedaco.add(new VotacaoService.LinhaLote(numero, ler(texto)));
+            if (pedaco.size() >= batchSize) {
+                escrever(votacaoService.votarLote(pautaId, pedaco), out);
+                pedaco.clear();
+            }
+        }
+        if (!pedaco.isEmpty()) {
+            escrever(votacaoService.votarLote(pautaId, pedaco), out);
+        }
+    }
+
+    private VotoRequest ler(String texto) {
+        try {
+            return mapper.readValue(texto, VotoRequest.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void escrever(List<VotoLoteResultado> resultados, OutputStream out) throws IOException {
+        for (VotoLoteResultado r : resultados) {
+            out.write(mapper.writeValueAsBytes(r));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
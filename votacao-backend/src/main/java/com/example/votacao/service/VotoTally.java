@@ -0,0 +1,86 @@
+package com.example.votacao.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Placar em memória por pauta: contadores SIM/NAO em {@link LongAdder} (striped, sem disputa entre
+ * threads que votam ao mesmo tempo). É reconstruído a partir da tabela {@code voto} na subida e
+ * incrementado a cada voto gravado, então o resultado não precisa ir ao banco.
+ * Cada réplica só vê os próprios votos; com mais de uma, use {@code votacao.tally.modo=sharded}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "votacao.tally.modo", havingValue = "memoria", matchIfMissing = true)
+public class VotoTally implements PlacarStore {
+
+    private static final Contagem VAZIO = new Contagem(0, 0);
+
+    private static final class Placar {
+        final LongAdder sim = new LongAdder();
+        final LongAdder nao = new LongAdder();
+
+        LongAdder de(OpcaoVoto opcao) {
+            return opcao == OpcaoVoto.SIM ? sim : nao;
+        }
+    }
+
+    private final VotoRepository votos;
+    private final Map<UUID, Placar> placares = new ConcurrentHashMap<>();
+
+    public VotoTally(VotoRepository votos) {
+        this.votos = votos;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        placares.clear();
+        List<Object[]> rows = votos.countGroupByPautaAndOpcao();
+        for (Object[] r : rows) {
+            placar((UUID) r[0]).de((OpcaoVoto) r[1]).add(((Number) r[2]).longValue());
+        }
+        log.info("Placar reconstruído para {} pautas", placares.size());
+    }
+
+    /**
+     * Conta um voto já gravado. Fora de transação o insert já foi commitado; dentro de uma transação
+     * externa o voto é contado na hora e descontado se ela sofrer rollback.
+     */
+    @Override
+    public void registrar(UUID pautaId, OpcaoVoto opcao) {
+        LongAdder contador = placar(pautaId).de(opcao);
+        contador.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) contador.decrement();
+                }
+            });
+        }
+    }
+
+    @Override
+    public Contagem contagem(UUID pautaId) {
+        Placar p = placares.get(pautaId);
+        return p == null ? VAZIO : new Contagem(p.sim.sum(), p.nao.sum());
+    }
+
+    private Placar placar(UUID pautaId) {
+        return placares.computeIfAbsent(pautaId, id -> new Placar());
+    }
+}
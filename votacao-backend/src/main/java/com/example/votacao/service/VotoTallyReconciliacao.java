@@ -0,0 +1,139 @@
+package com.example.votacao.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoTallyRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Confere os shards de {@code voto_tally} contra {@code voto} na subida e a cada {@code intervalo-ms}.
+ * Só entram pautas sem resultado_final (as encerradas não usam mais os shards). A primeira passada
+ * compara os dois GROUP BY sem travar nada; as pautas que divergem são conferidas de novo com os shards
+ * delas travados (votos em voo na primeira passada não contam como divergência) e, com
+ * {@code corrigir=true}, o shard 0 recebe a diferença. Rodar em todas as réplicas é seguro.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "votacao.tally.modo", havingValue = "sharded")
+public class VotoTallyReconciliacao {
+
+    private final VotoTallyRepository shards;
+    private final DbBulkhead bulkhead;
+    private final TransactionTemplate tx;
+    private final long intervaloMs;
+    private final boolean corrigir;
+    private final Counter divergencias;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "voto-tally-reconciliacao");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public VotoTallyReconciliacao(VotoTallyRepository shards, DbBulkhead bulkhead, TransactionTemplate tx,
+            @Value("${votacao.tally.reconciliacao.intervalo-ms:600000}") long intervaloMs,
+            @Value("${votacao.tally.reconciliacao.corrigir:true}") boolean corrigir, MeterRegistry registry) {
+        this.shards = shards;
+        this.bulkhead = bulkhead;
+        this.tx = tx;
+        this.intervaloMs = intervaloMs;
+        this.corrigir = corrigir;
+        this.divergencias = Counter.builder("votacao.tally.divergencias").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (intervaloMs <= 0) return;
+        executor.scheduleWithFixedDelay(this::rodar, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void rodar() {
+        try {
+            List<UUID> divergentes = reconciliar();
+            if (!divergentes.isEmpty()) log.warn("Placar divergente em {} pautas", divergentes.size());
+        } catch (RuntimeException e) {
+            log.error("Falha reconciliando voto_tally", e);
+        }
+    }
+
+    /** @return pautas cujos shards não batiam com {@code voto} (corrigidas se {@code corrigir=true}) */
+    public List<UUID> reconciliar() {
+        Map<UUID, long[]> votos = porPauta(bulkhead.executar(shards::contarTodosVotos));
+        Map<UUID, long[]> placar = porPauta(bulkhead.executar(shards::somarTodas));
+
+        Set<UUID> suspeitas = new HashSet<>(votos.keySet());
+        suspeitas.addAll(placar.keySet());
+        suspeitas.removeIf(p -> iguais(votos.get(p), placar.get(p)));
+
+        List<UUID> divergentes = new ArrayList<>();
+        for (UUID pautaId : suspeitas) {
+            if (Boolean.TRUE.equals(bulkhead.executar(() -> tx.execute(st -> conferir(pautaId))))) {
+                divergentes.add(pautaId);
+            }
+        }
+        return divergentes;
+    }
+
+    private boolean conferir(UUID pautaId) {
+        // trava os shards antes de contar: voto que ainda vai somar espera o fim desta transação
+        long[] placar = somar(shards.travarShards(pautaId));
+        long[] votos = somar(shards.contarVotos(pautaId));
+        if (iguais(placar, votos)) return false;
+
+        divergencias.increment();
+        log.warn("Placar da pauta {} divergente: shards sim={} nao={}, voto sim={} nao={}", pautaId,
+                placar[0], placar[1], votos[0], votos[1]);
+        if (corrigir) {
+            for (OpcaoVoto o : OpcaoVoto.values()) {
+                long delta = votos[o.ordinal()] - placar[o.ordinal()];
+                if (delta != 0) shards.incrementar(pautaId, o, 0, delta);
+            }
+        }
+        return true;
+    }
+
+    private static Map<UUID, long[]> porPauta(List<VotoTallyRepository.Linha> linhas) {
+        Map<UUID, long[]> m = new HashMap<>();
+        for (VotoTallyRepository.Linha l : linhas) {
+            m.computeIfAbsent(l.pautaId(), k -> new long[OpcaoVoto.values().length])[l.opcao().ordinal()] += l.total();
+        }
+        return m;
+    }
+
+    private static long[] somar(List<VotoTallyRepository.Linha> linhas) {
+        long[] t = new long[OpcaoVoto.values().length];
+        for (VotoTallyRepository.Linha l : linhas) t[l.opcao().ordinal()] += l.total();
+        return t;
+    }
+
+    private static boolean iguais(long[] a, long[] b) {
+        long[] zero = new long[OpcaoVoto.values().length];
+        return Arrays.equals(a == null ? zero : a, b == null ? zero : b);
+    }
+}
@@ -0,0 +1,17 @@
+-- voto: CPF numérico e (pauta_id, cpf) como chave primária (índice clusterizado no InnoDB).
+-- Antes eram três B-trees por insert (PK aleatória em id, UNIQUE (pauta_id, cpf) e idx_voto_pauta);
+-- agora é uma só, com inserts agrupados por pauta.
+
+ALTER TABLE voto MODIFY cpf BIGINT UNSIGNED NOT NULL;
+
+ALTER TABLE voto DROP PRIMARY KEY;
+ALTER TABLE voto DROP COLUMN id;
+ALTER TABLE voto ADD PRIMARY KEY (pauta_id, cpf);
+
+ALTER TABLE voto DROP CONSTRAINT uk_voto_pauta_cpf;
+
+-- a FK fica presa ao idx_voto_pauta (H2); recriada ela passa a usar o prefixo da PK
+ALTER TABLE voto DROP CONSTRAINT fk_voto_pauta;
+DROP INDEX idx_voto_pauta ON voto;
+ALTER TABLE voto
+  ADD CONSTRAINT fk_voto_pauta FOREIGN KEY (pauta_id) REFERENCES pauta(id) ON DELETE CASCADE;
@@ -0,0 +1,10 @@
+-- Placar congelado no encerramento da sessão: depois disso o resultado é esta linha, não um COUNT em voto.
+CREATE TABLE IF NOT EXISTS resultado_final (
+  pauta_id BINARY(16) PRIMARY KEY,
+  sim BIGINT NOT NULL,
+  nao BIGINT NOT NULL,
+  encerrada_em DATETIME(6) NOT NULL,
+  CONSTRAINT fk_resultado_final_pauta FOREIGN KEY (pauta_id) REFERENCES pauta(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sessao_status_closes ON sessao_votacao(status, closes_at);
@@ -0,0 +1,2 @@
+-- Listagem paginada por cursor (keyset): ORDER BY created_at DESC, id DESC sai direto do índice.
+CREATE INDEX idx_pauta_created_id ON pauta(created_at, id);
@@ -0,0 +1,15 @@
+-- Placar persistente em shards: N linhas por (pauta, opcao), cada voto soma 1 numa delas escolhida ao
+-- acaso na mesma transação do INSERT em voto. Várias réplicas podem votar sem disputar uma linha quente;
+-- o resultado é um SUM de poucas linhas.
+CREATE TABLE IF NOT EXISTS voto_tally (
+  pauta_id BINARY(16) NOT NULL,
+  opcao VARCHAR(3) NOT NULL,
+  shard SMALLINT NOT NULL,
+  total BIGINT NOT NULL,
+  PRIMARY KEY (pauta_id, opcao, shard),
+  CONSTRAINT fk_voto_tally_pauta FOREIGN KEY (pauta_id) REFERENCES pauta(id) ON DELETE CASCADE
+);
+
+-- votos já existentes entram no shard 0
+INSERT INTO voto_tally (pauta_id, opcao, shard, total)
+SELECT pauta_id, opcao, 0, COUNT(*) FROM voto GROUP BY pauta_id, opcao;
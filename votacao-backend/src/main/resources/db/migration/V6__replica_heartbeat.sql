@@ -0,0 +1,8 @@
+-- Batimento gravado na primária a cada sondagem e lido na réplica: a idade do valor visto lá é o
+-- atraso máximo dos dados da réplica (ReplicaMonitor).
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+  id INT PRIMARY KEY,
+  batido_em_ms BIGINT NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, batido_em_ms) VALUES (1, 0);
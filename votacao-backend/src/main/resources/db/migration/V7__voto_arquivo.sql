@@ -0,0 +1,16 @@
+-- Arquivo frio: votos de pautas encerradas saem de voto (tabela quente, só com o que ainda pode receber
+-- voto) para cá em lotes. Só a PK, sem índices extras; opcao como TINYINT (ordinal de OpcaoVoto: 0 = SIM,
+-- 1 = NAO). O resultado dessas pautas já vem de resultado_final.
+CREATE TABLE IF NOT EXISTS voto_arquivo (
+  pauta_id BINARY(16) NOT NULL,
+  cpf BIGINT UNSIGNED NOT NULL,
+  opcao TINYINT NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (pauta_id, cpf),
+  CONSTRAINT fk_voto_arquivo_pauta FOREIGN KEY (pauta_id) REFERENCES pauta(id) ON DELETE CASCADE
+);
+
+-- preenchida quando todos os votos da pauta foram arquivados
+ALTER TABLE resultado_final ADD COLUMN arquivada_em DATETIME(6) NULL;
+
+CREATE INDEX idx_resultado_final_arquivo ON resultado_final(arquivada_em, encerrada_em);
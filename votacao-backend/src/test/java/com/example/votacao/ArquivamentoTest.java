@@ -0,0 +1,102 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+import com.example.votacao.service.VotoArquivamento;
+
+@SpringBootTest(properties = {
+        "votacao.arquivamento.intervalo-ms=0",
+        "votacao.arquivamento.apos-horas=0",
+        "votacao.arquivamento.lote=3",
+        "votacao.arquivamento.pausa-ms=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ArquivamentoTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired VotoArquivamento arquivamento;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired MockMvc mvc;
+
+    @Test
+    @DisplayName("Arquivamento: votos da pauta encerrada vão para voto_arquivo em lotes; resultado e export não mudam")
+    void arquivaPautaEncerrada() throws Exception {
+        UUID encerrada = pautaComVotos("Pauta Arquivada", 8);
+        UUID aberta = pautaComVotos("Pauta Aberta", 2);
+        assertThat(pautaService.encerrarSessao(encerrada, Instant.now())).isTrue();
+        ResultadoDTO antes = pautaService.resultado(encerrada);
+        String exportAntes = exportar(encerrada);
+
+        assertThat(arquivamento.arquivar()).isGreaterThanOrEqualTo(1);
+
+        assertThat(contar("voto", encerrada)).isZero();
+        assertThat(contar("voto_arquivo", encerrada)).isEqualTo(8);
+        assertThat(contar("voto", aberta)).isEqualTo(2);
+        assertThat(jdbc.queryForObject("SELECT arquivada_em FROM resultado_final WHERE pauta_id = ?", Object.class,
+                (Object) VotoBatchRepository.toBytes(encerrada))).isNotNull();
+
+        assertThat(pautaService.resultado(encerrada)).isEqualTo(antes);
+        assertThat(antes.total()).isEqualTo(8);
+        assertThat(exportar(encerrada)).isEqualTo(exportAntes);
+        assertThat(exportAntes.split("\n")).hasSize(9);
+
+        // já arquivada: não volta a ser candidata
+        assertThat(arquivamento.arquivar()).isZero();
+    }
+
+    private UUID pautaComVotos(String titulo, int votos) {
+        var pauta = pautaService.criar(new CreatePautaRequest(titulo, "Retenção"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        for (int i = 0; i < votos; i++) {
+            votacaoService.votar(pauta.getId(),
+                    new VotoRequest(cpfValido(300_000_000L + i), i % 2 == 0 ? OpcaoVoto.SIM : OpcaoVoto.NAO));
+        }
+        return pauta.getId();
+    }
+
+    private long contar(String tabela, UUID pautaId) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE pauta_id = ?", Long.class,
+                (Object) VotoBatchRepository.toBytes(pautaId));
+    }
+
+    private String exportar(UUID pautaId) throws Exception {
+        MvcResult r = mvc.perform(get("/pautas/" + pautaId + "/votos/export").param("mascarar", "false"))
+                .andExpect(request().asyncStarted()).andReturn();
+        return mvc.perform(asyncDispatch(r)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    /** Base de 9 dígitos + os dígitos verificadores que a tornam válida. */
+    private static long cpfValido(long base) {
+        for (int dv = 0; dv < 100; dv++) {
+            if (Cpf.isValido(base * 100 + dv)) return base * 100 + dv;
+        }
+        throw new IllegalArgumentException("base sem DV válido: " + base);
+    }
+}
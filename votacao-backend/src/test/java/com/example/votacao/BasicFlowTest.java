@@ -54,7 +54,7 @@ class BasicFlowTest {
         pautaService.abrirSessao(pautaA.getId(), 60);
         pautaService.abrirSessao(pautaB.getId(), 60);
 
-        var req = new VotoRequest("11122233344", OpcaoVoto.SIM);
+        var req = new VotoRequest("11122233396", OpcaoVoto.SIM);
 
         // 1º voto na pauta A -> OK
         votacaoService.votar(pautaA.getId(), req);
@@ -78,7 +78,7 @@ class BasicFlowTest {
         s.setClosesAt(s.getOpenedAt()); // fecha imediatamente
         sessaoRepo.save(s);
 
-        var req = new VotoRequest("55566677788", OpcaoVoto.NAO);
+        var req = new VotoRequest("55566677720", OpcaoVoto.NAO);
 
         assertThatThrownBy(() -> votacaoService.votar(pauta.getId(), req))
                 .isInstanceOf(UnprocessableException.class)
@@ -91,8 +91,8 @@ class BasicFlowTest {
         var pauta = pautaService.criar(new CreatePautaRequest("Pauta Resultado", "Teste Resultado"));
         pautaService.abrirSessao(pauta.getId(), 60);
 
-        votacaoService.votar(pauta.getId(), new VotoRequest("11122233344", OpcaoVoto.SIM));
-        votacaoService.votar(pauta.getId(), new VotoRequest("99988877766", OpcaoVoto.NAO));
+        votacaoService.votar(pauta.getId(), new VotoRequest("11122233396", OpcaoVoto.SIM));
+        votacaoService.votar(pauta.getId(), new VotoRequest("99988877714", OpcaoVoto.NAO));
 
         ResultadoDTO r = pautaService.resultado(pauta.getId());
         assertThat(r.sim()).isEqualTo(1L);
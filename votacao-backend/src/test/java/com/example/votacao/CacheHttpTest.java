@@ -0,0 +1,110 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheHttpTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired MockMvc mvc;
+    @Autowired MeterRegistry registry;
+
+    @Test
+    @DisplayName("Resultado em andamento: 304 enquanto o placar não muda, ETag novo depois de um voto")
+    void resultadoAbertoRevalidaPorEtag() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta ETag", "Aberta"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        String url = "/pautas/" + pauta.getId() + "/resultado";
+
+        String etag = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=1, must-revalidate"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM));
+        String novo = mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"sim\":1,\"nao\":0,\"total\":1,\"status\":\"ABERTA\"}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(novo).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Resultado encerrado: immutable, bytes em cache (não recalcula) e 304 na revalidação")
+    void resultadoCongeladoImutavel() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta ETag Final", "Encerrada"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("98765432100", OpcaoVoto.NAO));
+        pautaService.encerrarSessao(pauta.getId(), Instant.now());
+        String url = "/pautas/" + pauta.getId() + "/resultado";
+
+        String etag = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(content().json("{\"sim\":0,\"nao\":1,\"total\":1,\"status\":\"ENCERRADA\"}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long calculados = registry.timer("votacao.resultado").count();
+        mvc.perform(get(url)).andExpect(status().isOk())
+                .andExpect(content().json("{\"sim\":0,\"nao\":1,\"total\":1,\"status\":\"ENCERRADA\"}"));
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertThat(registry.timer("votacao.resultado").count()).isEqualTo(calculados);
+    }
+
+    @Test
+    @DisplayName("Detalhe da pauta: ETag pelo id, 304 sem carregar a pauta; 404 sem cache, mesmo com If-None-Match")
+    void detalheDaPauta() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Detalhe", "Com descrição"));
+
+        String etag = mvc.perform(get("/pautas/" + pauta.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/pautas/" + pauta.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"outro\", " + etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/pautas/" + pauta.getId()).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/pautas/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+
+        // ETag adivinhado ou "*" não fazem 304 de pauta que não existe
+        UUID inexistente = UUID.randomUUID();
+        mvc.perform(get("/pautas/" + inexistente).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/pautas/" + inexistente).header(HttpHeaders.IF_NONE_MATCH, "\"p-" + inexistente + "\""))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CpfTest {
+
+    @Test
+    @DisplayName("Codec: os dois formatos viram o mesmo long; DV e sequências repetidas são conferidos")
+    void parseEValidacao() {
+        assertThat(Cpf.parse("12345678909")).isEqualTo(12345678909L);
+        assertThat(Cpf.parse("123.456.789-09")).isEqualTo(12345678909L);
+        assertThat(Cpf.parse("01234567890")).isEqualTo(1234567890L);
+        assertThat(Cpf.formatar(1234567890L)).isEqualTo("01234567890");
+
+        assertThat(Cpf.parse("123")).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.parse("123-456.789.09")).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.parse("1234567890a")).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.parse(null)).isEqualTo(Cpf.INVALIDO);
+
+        assertThat(Cpf.isValido(12345678909L)).isTrue();
+        assertThat(Cpf.isValido(52998224725L)).isTrue();
+        assertThat(Cpf.isValido(1234567890L)).isTrue();
+        assertThat(Cpf.isValido(12345678900L)).isFalse();  // DV errado
+        assertThat(Cpf.isValido(11111111111L)).isFalse();  // DV "certo", mas repetido
+        assertThat(Cpf.isValido(0L)).isFalse();
+        assertThat(Cpf.isValido(Cpf.INVALIDO)).isFalse();
+    }
+
+    @Test
+    @DisplayName("VotoRequest: Jackson converte o CPF; DV errado chega ao service, que recusa")
+    void bindingEValidacao() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        VotoRequest comMascara = mapper.readValue("{\"cpf\":\"123.456.789-09\",\"opcao\":\"SIM\"}", VotoRequest.class);
+        assertThat(comMascara).isEqualTo(new VotoRequest(12345678909L, OpcaoVoto.SIM));
+        assertThat(Cpf.isValido(comMascara.cpf())).isTrue();
+
+        VotoRequest dvErrado = mapper.readValue("{\"cpf\":\"12345678900\",\"opcao\":\"SIM\"}", VotoRequest.class);
+        assertThat(dvErrado.cpf()).isEqualTo(12345678900L);
+        assertThat(Cpf.isValido(dvErrado.cpf())).isFalse();
+
+        VotoRequest semCpf = mapper.readValue("{\"cpf\":null,\"opcao\":\"NAO\"}", VotoRequest.class);
+        assertThat(semCpf.cpf()).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.isValido(semCpf.cpf())).isFalse();
+
+        // só string: número JSON perderia os zeros à esquerda; grande demais também não é 400 do Jackson
+        VotoRequest numero = mapper.readValue("{\"cpf\":1234567890,\"opcao\":\"SIM\"}", VotoRequest.class);
+        assertThat(numero.cpf()).isEqualTo(Cpf.INVALIDO);
+        VotoRequest enorme = mapper.readValue("{\"cpf\":123456789012345678901234,\"opcao\":\"SIM\"}", VotoRequest.class);
+        assertThat(enorme.cpf()).isEqualTo(Cpf.INVALIDO);
+        assertThat(Cpf.isValido(enorme.cpf())).isFalse();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.service.DbBulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DbBulkheadTest {
+
+    @Test
+    @DisplayName("Bulkhead: cheio devolve 503 após a espera; chamada aninhada não pega segunda permissão")
+    void limitaEReaproveitaPermissaoAninhada() throws Exception {
+        DbBulkhead bulkhead = new DbBulkhead(1, 50, new SimpleMeterRegistry());
+
+        assertThat(bulkhead.executar(() -> bulkhead.executar(() -> 42))).isEqualTo(42);
+        assertThat(bulkhead.disponiveis()).isEqualTo(1);
+
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> bulkhead.executar(() -> {
+                ocupado.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            ocupado.await();
+            assertThatThrownBy(() -> bulkhead.executar(() -> 1)).isInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            liberar.countDown();
+            pool.shutdown();
+        }
+    }
+}
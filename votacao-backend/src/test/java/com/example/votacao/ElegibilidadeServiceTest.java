@@ -0,0 +1,98 @@
+package com.example.votacao;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.client.CircuitBreaker;
+import com.example.votacao.client.WebClientCpfEligibilityClient;
+import com.example.votacao.exception.ForbiddenException;
+import com.example.votacao.exception.ServiceUnavailableException;
+import com.example.votacao.exception.UnprocessableException;
+import com.example.votacao.service.ElegibilidadeService;
+import com.example.votacao.service.ElegibilidadeService.Veredito;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ElegibilidadeServiceTest {
+
+    static final String CPF = "12345678909";
+
+    WireMockServer api;
+
+    @BeforeEach
+    void start() {
+        api = new WireMockServer(wireMockConfig().dynamicPort());
+        api.start();
+    }
+
+    @AfterEach
+    void stop() {
+        api.stop();
+    }
+
+    ElegibilidadeService servico(boolean failOpen) {
+        var client = new WebClientCpfEligibilityClient("http://localhost:" + api.port(), 2000);
+        return new ElegibilidadeService(client, true, failOpen, 2000, 300, 1000, 3, 60_000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Consultas concorrentes do mesmo CPF viram uma chamada, e a resposta fica em cache")
+    void coalesceECache() {
+        api.stubFor(get("/users/" + CPF).willReturn(aResponse().withFixedDelay(200)
+                .withHeader("Content-Type", "application/json").withBody("{\"status\":\"UNABLE_TO_VOTE\"}")));
+        var servico = servico(false);
+
+        List<CompletableFuture<Veredito>> fs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) fs.add(servico.verificar(Long.parseLong(CPF)));
+        fs.forEach(f -> assertThat(f.join()).isEqualTo(Veredito.INAPTO));
+        assertThatThrownBy(() -> servico.exigirApto(Long.parseLong(CPF))).isInstanceOf(ForbiddenException.class);
+
+        api.verify(1, getRequestedFor(urlEqualTo("/users/" + CPF)));
+    }
+
+    @Test
+    @DisplayName("CPF que a API não conhece (404 lá) é 422 aqui, como o CPF com dígito errado")
+    void cpfInexistenteEh422() {
+        api.stubFor(get("/users/" + CPF).willReturn(aResponse().withStatus(404)));
+        var servico = servico(false);
+
+        assertThat(servico.verificar(Long.parseLong(CPF)).join()).isEqualTo(Veredito.CPF_INVALIDO);
+        assertThatThrownBy(() -> servico.exigirApto(Long.parseLong(CPF)))
+                .isInstanceOf(UnprocessableException.class)
+                .hasMessage("CPF inválido");
+    }
+
+    @Test
+    @DisplayName("API fora: circuito abre após as falhas seguidas e a política decide (fail-closed = 503, fail-open = vota)")
+    void circuitoAbreEAplicaPolitica() {
+        api.stubFor(get(anyUrl()).willReturn(aResponse().withStatus(500)));
+        var fechado = servico(false);
+
+        for (int i = 0; i < 3; i++) {
+            long cpf = 10_000_000_000L + i; // CPFs distintos: sem ajuda do cache
+            assertThatThrownBy(() -> fechado.exigirApto(cpf)).isInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(fechado.estadoCircuito()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThatThrownBy(() -> fechado.exigirApto(Long.parseLong(CPF))).isInstanceOf(ServiceUnavailableException.class);
+        api.verify(3, getRequestedFor(anyUrl())); // a 4ª nem saiu
+
+        var aberto = servico(true);
+        assertThat(aberto.verificar(Long.parseLong(CPF)).join()).isEqualTo(Veredito.APTO);
+    }
+}
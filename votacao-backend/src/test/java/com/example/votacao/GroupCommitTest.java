@@ -0,0 +1,107 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.exception.ConflictException;
+import com.example.votacao.exception.UnprocessableException;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+
+@SpringBootTest(properties = {
+        "votacao.ingest.group-commit.enabled=true",
+        "votacao.ingest.group-commit.max-batch=32",
+        "votacao.ingest.group-commit.max-delay-ms=10"
+})
+@ActiveProfiles("test")
+class GroupCommitTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Group commit: cada chamador recebe o próprio 201/409 e o total fecha")
+    void concurrentVotesAreBatchedWithIndividualOutcomes() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Lote", "Group commit"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+
+        int cpfs = 200;
+        List<Callable<Boolean>> tarefas = new ArrayList<>();
+        for (int i = 0; i < cpfs; i++) {
+            long cpf = cpfValido(100_000_000L + i);
+            OpcaoVoto opcao = i % 2 == 0 ? OpcaoVoto.SIM : OpcaoVoto.NAO;
+            // cada CPF tenta votar duas vezes, concorrentemente
+            for (int t = 0; t < 2; t++) {
+                tarefas.add(() -> {
+                    try {
+                        votacaoService.votar(pauta.getId(), new VotoRequest(cpf, opcao));
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                });
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        int criados = 0;
+        try {
+            for (Future<Boolean> f : pool.invokeAll(tarefas)) {
+                if (f.get()) criados++;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(criados).isEqualTo(cpfs);
+        ResultadoDTO r = pautaService.resultado(pauta.getId());
+        assertThat(r.sim()).isEqualTo(cpfs / 2);
+        assertThat(r.nao()).isEqualTo(cpfs / 2);
+    }
+
+    @Test
+    @DisplayName("Group commit: lote que chega ao banco com a sessão já encerrada não grava o voto (422)")
+    void loteConfereSessaoNoBanco() {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Lote Encerrada", "Group commit"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest(cpfValido(300_000_000L), OpcaoVoto.SIM)); // aquece o cache
+
+        // encerrada no banco (congelamento já feito): o cache ainda diz ABERTA
+        jdbc.update("UPDATE sessao_votacao SET status = 'ENCERRADA' WHERE pauta_id = ?",
+                (Object) VotoBatchRepository.toBytes(pauta.getId()));
+        assertThatThrownBy(() -> votacaoService.votar(pauta.getId(), new VotoRequest(cpfValido(300_000_001L), OpcaoVoto.NAO)))
+                .isInstanceOf(UnprocessableException.class)
+                .hasMessageContaining("Sessão encerrada");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM voto WHERE pauta_id = ?", Long.class,
+                (Object) VotoBatchRepository.toBytes(pauta.getId()))).isEqualTo(1);
+    }
+
+    /** Base de 9 dígitos + os dígitos verificadores que a tornam válida. */
+    private static long cpfValido(long base) {
+        for (int dv = 0; dv < 100; dv++) {
+            if (Cpf.isValido(base * 100 + dv)) return base * 100 + dv;
+        }
+        throw new IllegalArgumentException("base sem DV válido: " + base);
+    }
+}
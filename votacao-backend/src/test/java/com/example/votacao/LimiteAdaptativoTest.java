@@ -0,0 +1,93 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.exception.TooManyRequestsException;
+import com.example.votacao.service.LimiteAdaptativo;
+
+class LimiteAdaptativoTest {
+
+    @Test
+    @DisplayName("Limite: excedente espera na fila; fila cheia ou espera esgotada é 429 com Retry-After")
+    void filaLimitadaERecusa() throws Exception {
+        LimiteAdaptativo limite = new LimiteAdaptativo("voto", 1, 1, 1, 1, 300, 2);
+        CountDownLatch segura = new CountDownLatch(1);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() -> limite.executar(() -> {
+            dentro.countDown();
+            aguardar(segura);
+            return null;
+        }));
+        assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // segunda entra na fila (vaga única ocupada)
+        CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() -> limite.executar(() -> "ok"));
+        for (int i = 0; i < 500 && limite.esperando() == 0; i++) Thread.sleep(5);
+        assertThat(limite.esperando()).isEqualTo(1);
+
+        // terceira: fila cheia, 429 sem esperar
+        long t0 = System.nanoTime();
+        assertThatThrownBy(() -> limite.executar(() -> "x"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0)).isLessThan(200);
+
+        segura.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(limite.emVoo()).isZero();
+
+        // vaga ocupada e ninguém libera: a espera (300 ms) esgota
+        CountDownLatch segura2 = new CountDownLatch(1);
+        CountDownLatch dentro2 = new CountDownLatch(1);
+        CompletableFuture<Void> ocupa = CompletableFuture.runAsync(() -> limite.executar(() -> {
+            dentro2.countDown();
+            aguardar(segura2);
+            return null;
+        }));
+        assertThat(dentro2.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> limite.executar(() -> "x")).isInstanceOf(TooManyRequestsException.class);
+        segura2.countDown();
+        ocupa.get(5, TimeUnit.SECONDS);
+        assertThat(limite.recusadas()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Limite: latência subindo derruba o limite")
+    void latenciaMaiorReduzLimite() throws Exception {
+        LimiteAdaptativo limite = new LimiteAdaptativo("resultado", 50, 1, 100, 0, 0, 1);
+        for (int i = 0; i < 500; i++) limite.executar(() -> "rápido");
+        int antes = limite.limite();
+        for (int i = 0; i < 60; i++) {
+            limite.executar(() -> {
+                dormir(5);
+                return "lento";
+            });
+        }
+        assertThat(limite.limite()).isLessThan(antes);
+    }
+
+    private static void aguardar(CountDownLatch l) {
+        try {
+            l.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
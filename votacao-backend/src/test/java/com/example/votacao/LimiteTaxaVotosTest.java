@@ -0,0 +1,69 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.exception.TooManyRequestsException;
+import com.example.votacao.service.LimiteTaxaVotos;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LimiteTaxaVotosTest {
+
+    private final UUID pauta = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Taxa: CPF estoura depois da rajada com 429 e Retry-After; outro CPF segue passando")
+    void rajadaPorCpf() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LimiteTaxaVotos limite = new LimiteTaxaVotos(new MockEnvironment(), registry);
+
+        for (int i = 0; i < 3; i++) limite.exigir(pauta, Cpf.parse("12345678909"), "10.0.0.1");
+        assertThatThrownBy(() -> limite.exigir(pauta, Cpf.parse("123.456.789-09"), "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("CPF")
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isBetween(1L, 10L));
+
+        limite.exigir(pauta, Cpf.parse("98765432100"), "10.0.0.1");
+        limite.exigir(UUID.randomUUID(), Cpf.parse("12345678909"), "10.0.0.1"); // outra pauta, outro balde
+        assertThat(registry.counter("votacao.rate_limit.recusadas", "chave", "cpf").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Taxa: IP estoura mesmo com CPFs diferentes (e malformados)")
+    void rajadaPorIp() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("votacao.rate-limit.ip.rajada", "5");
+        LimiteTaxaVotos limite = new LimiteTaxaVotos(env, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) limite.exigir(pauta, Cpf.parse("lixo-" + i), "10.0.0.2");
+        assertThatThrownBy(() -> limite.exigir(pauta, Cpf.parse("12345678909"), "10.0.0.2"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("endereço");
+        limite.exigir(pauta, Cpf.parse("12345678909"), "10.0.0.3");
+    }
+
+    @Test
+    @DisplayName("Taxa: limite por pauta sobrepõe o padrão; desligado não recusa nada")
+    void porPautaEDesligado() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("votacao.rate-limit.pautas." + pauta + ".cpf.rajada", "1");
+        LimiteTaxaVotos limite = new LimiteTaxaVotos(env, new SimpleMeterRegistry());
+        limite.exigir(pauta, Cpf.parse("12345678909"), null);
+        assertThatThrownBy(() -> limite.exigir(pauta, Cpf.parse("12345678909"), null))
+                .isInstanceOf(TooManyRequestsException.class);
+        UUID outra = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) limite.exigir(outra, Cpf.parse("12345678909"), null);
+
+        LimiteTaxaVotos desligado = new LimiteTaxaVotos(
+                new MockEnvironment().withProperty("votacao.rate-limit.enabled", "false"), new SimpleMeterRegistry());
+        for (int i = 0; i < 50; i++) desligado.exigir(pauta, Cpf.parse("12345678909"), "10.0.0.1");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.service.LongHashSet;
+
+class LongHashSetTest {
+
+    @Test
+    void comportaComoHashSetEmOperacoesAleatorias() {
+        var set = new LongHashSet();
+        Set<Long> ref = new HashSet<>();
+        var rnd = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // faixa pequena para forçar colisões, remoções e o zero
+            long v = rnd.nextInt(5_000);
+            switch (rnd.nextInt(3)) {
+                case 0 -> assertThat(set.add(v)).isEqualTo(ref.add(v));
+                case 1 -> assertThat(set.remove(v)).isEqualTo(ref.remove(v));
+                default -> assertThat(set.contains(v)).isEqualTo(ref.contains(v));
+            }
+        }
+        assertThat(set.size()).isEqualTo(ref.size());
+        for (long v = 0; v < 5_000; v++) {
+            assertThat(set.contains(v)).isEqualTo(ref.contains(v));
+        }
+    }
+
+    @Test
+    void umMilhaoDeCpfsOcupa16MiB() {
+        var set = new LongHashSet();
+        for (long i = 0; i < 1_000_000; i++) {
+            set.add(10_000_000_000L + i * 7919);
+        }
+        assertThat(set.size()).isEqualTo(1_000_000);
+        assertThat(set.memoriaBytes()).isEqualTo(16L * 1024 * 1024);
+    }
+}
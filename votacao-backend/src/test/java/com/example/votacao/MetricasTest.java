@@ -0,0 +1,55 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.exception.ConflictException;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired MockMvc mvc;
+
+    @Test
+    @DisplayName("/actuator/prometheus expõe etapas do voto, desfechos, resultado e pool do Hikari")
+    void prometheusExpoeMetricasDoVoto() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Métricas", "Teste"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM));
+        try {
+            votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM));
+        } catch (ConflictException esperado) {
+            // conta como duplicado
+        }
+        pautaService.resultado(pauta.getId());
+
+        String corpo = mvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo)
+                .contains("votacao_votar_etapa_seconds_count{application=\"votacao-backend-test\",etapa=\"gravacao\"}")
+                .contains("votacao_votos_total{application=\"votacao-backend-test\",desfecho=\"criado\"} 1.0")
+                .contains("votacao_votos_total{application=\"votacao-backend-test\",desfecho=\"duplicado\"} 1.0")
+                .contains("votacao_votar_seconds_bucket")
+                .contains("votacao_resultado_etapa_seconds_count{application=\"votacao-backend-test\",etapa=\"placar\"}")
+                .contains("hikaricp_connections_active");
+    }
+}
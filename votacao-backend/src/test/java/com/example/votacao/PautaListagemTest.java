@@ -0,0 +1,102 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.votacao.controller.PautaController;
+import com.example.votacao.domain.Pauta;
+import com.example.votacao.dto.PautaResumo;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.repository.PautaRepository;
+import com.example.votacao.service.PautaService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PautaListagemTest {
+
+    @Autowired PautaRepository repo;
+    @Autowired PautaService pautaService;
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper json;
+
+    @Test
+    @DisplayName("Páginas pelo cursor cobrem a lista inteira, sem repetir nem pular, mesmo com created_at empatado")
+    void paginasPorCursorCobremTudo() throws Exception {
+        Instant empate = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<UUID> criadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) criadas.add(salvar("Empate " + i, empate));
+        UUID aberta = salvar("Com sessão", empate.plusSeconds(1));
+        pautaService.abrirSessao(aberta, 60);
+
+        List<PautaResumo> tudo = pagina("/pautas?limit=200").itens;
+
+        List<PautaResumo> paginado = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina p = pagina(cursor == null ? "/pautas?limit=2" : "/pautas?limit=2&cursor=" + cursor);
+            assertThat(p.itens).hasSizeLessThanOrEqualTo(2);
+            paginado.addAll(p.itens);
+            cursor = p.proximo;
+        } while (cursor != null);
+
+        assertThat(paginado).containsExactlyElementsOf(tudo);
+        assertThat(paginado).extracting(PautaResumo::id).containsAll(criadas).doesNotHaveDuplicates();
+        assertThat(paginado).filteredOn(r -> r.id().equals(aberta)).singleElement()
+                .extracting(PautaResumo::sessaoStatus).isEqualTo(SessaoStatus.ABERTA);
+        assertThat(paginado).filteredOn(r -> criadas.contains(r.id()))
+                .allSatisfy(r -> assertThat(r.sessaoStatus()).isNull());
+    }
+
+    @Test
+    @DisplayName("Resumo não traz a descrição; detalhe por id traz")
+    void resumoSemDescricao() throws Exception {
+        UUID id = salvar("Resumo", Instant.now());
+
+        String lista = mvc.perform(get("/pautas?limit=1")).andReturn().getResponse().getContentAsString();
+        assertThat(lista).contains("\"titulo\"").doesNotContain("descricao");
+
+        String detalhe = mvc.perform(get("/pautas/" + id)).andReturn().getResponse().getContentAsString();
+        assertThat(detalhe).contains("\"descricao\":\"texto longo\"");
+    }
+
+    @Test
+    @DisplayName("Cursor adulterado -> 422")
+    void cursorInvalido() throws Exception {
+        mvc.perform(get("/pautas?cursor=nao-e-cursor")).andExpect(status().isUnprocessableEntity());
+    }
+
+    private UUID salvar(String titulo, Instant createdAt) {
+        Pauta p = new Pauta();
+        p.setTitulo(titulo);
+        p.setDescricao("texto longo");
+        p.setCreatedAt(createdAt);
+        return repo.save(p).getId();
+    }
+
+    private record Pagina(List<PautaResumo> itens, String proximo) {}
+
+    private Pagina pagina(String url) throws Exception {
+        MockHttpServletResponse r = mvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse();
+        List<PautaResumo> itens = json.readValue(r.getContentAsString(), new TypeReference<List<PautaResumo>>() {});
+        return new Pagina(itens, r.getHeader(PautaController.NEXT_CURSOR));
+    }
+}
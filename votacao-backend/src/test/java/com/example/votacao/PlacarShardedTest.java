@@ -0,0 +1,100 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+import com.example.votacao.service.VotacaoService.LinhaLote;
+import com.example.votacao.service.VotoTallyReconciliacao;
+
+/** Duas instâncias da aplicação no mesmo banco (H2), como duas réplicas atrás do balanceador. */
+class PlacarShardedTest {
+
+    static ConfigurableApplicationContext noA;
+    static ConfigurableApplicationContext noB;
+
+    @BeforeAll
+    static void subir() {
+        noA = no();
+        noB = no();
+    }
+
+    @AfterAll
+    static void derrubar() {
+        noB.close();
+        noA.close();
+    }
+
+    private static ConfigurableApplicationContext no() {
+        return new SpringApplicationBuilder(VotacaoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:placar-sharded;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+                        "--votacao.tally.modo=sharded",
+                        "--votacao.tally.shards=4",
+                        "--votacao.tally.reconciliacao.intervalo-ms=0");
+    }
+
+    @Test
+    @DisplayName("Votos recebidos por réplicas diferentes aparecem no resultado das duas")
+    void placarCompartilhadoEntreReplicas() {
+        var pauta = noA.getBean(PautaService.class).criar(new CreatePautaRequest("Pauta Réplicas", "Sharded"));
+        UUID id = pauta.getId();
+        noA.getBean(PautaService.class).abrirSessao(id, 60);
+
+        VotacaoService votacaoA = noA.getBean(VotacaoService.class);
+        VotacaoService votacaoB = noB.getBean(VotacaoService.class);
+        votacaoA.votar(id, new VotoRequest("12345678909", OpcaoVoto.SIM));
+        votacaoA.votar(id, new VotoRequest("98765432100", OpcaoVoto.SIM));
+        votacaoB.votar(id, new VotoRequest("11144477735", OpcaoVoto.NAO));
+        List<LinhaLote> lote = new ArrayList<>();
+        lote.add(new LinhaLote(1, new VotoRequest("52998224725", OpcaoVoto.SIM)));
+        lote.add(new LinhaLote(2, new VotoRequest("12345678909", OpcaoVoto.NAO))); // já votou pela réplica A
+        lote.add(new LinhaLote(3, new VotoRequest("11122233396", OpcaoVoto.NAO)));
+        votacaoB.votarLote(id, lote);
+
+        ResultadoDTO esperado = new ResultadoDTO(3, 2, 5, "ABERTA");
+        assertThat(noA.getBean(PautaService.class).resultado(id)).isEqualTo(esperado);
+        assertThat(noB.getBean(PautaService.class).resultado(id)).isEqualTo(esperado);
+        assertThat(noA.getBean(VotoTallyReconciliacao.class).reconciliar()).doesNotContain(id);
+    }
+
+    @Test
+    @DisplayName("Reconciliação acha shards fora de voto e corrige")
+    void reconciliacaoCorrigeShards() {
+        var pauta = noA.getBean(PautaService.class).criar(new CreatePautaRequest("Pauta Reconciliação", "Sharded"));
+        UUID id = pauta.getId();
+        noA.getBean(PautaService.class).abrirSessao(id, 60);
+        noB.getBean(VotacaoService.class).votar(id, new VotoRequest("12345678909", OpcaoVoto.SIM));
+
+        // placar adiantado (ex.: shard somado à mão) e um voto gravado sem passar pelo placar
+        JdbcTemplate jdbc = noA.getBean(JdbcTemplate.class);
+        jdbc.update("UPDATE voto_tally SET total = total + 5 WHERE pauta_id = ? AND opcao = 'SIM'",
+                (Object) VotoBatchRepository.toBytes(id));
+        jdbc.update("INSERT INTO voto (pauta_id, cpf, opcao, created_at) VALUES (?, 98765432100, 'NAO', CURRENT_TIMESTAMP)",
+                (Object) VotoBatchRepository.toBytes(id));
+
+        VotoTallyReconciliacao reconciliacao = noB.getBean(VotoTallyReconciliacao.class);
+        assertThat(reconciliacao.reconciliar()).contains(id);
+        assertThat(noA.getBean(PautaService.class).resultado(id)).isEqualTo(new ResultadoDTO(1, 1, 2, "ABERTA"));
+        assertThat(reconciliacao.reconciliar()).doesNotContain(id);
+    }
+}
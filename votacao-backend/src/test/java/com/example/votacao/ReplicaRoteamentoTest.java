@@ -0,0 +1,88 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.PautaResumo;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.ReplicaMonitor;
+
+/**
+ * Dois bancos H2 fazendo papel de primária e réplica. Não há replicação entre eles: a pauta gravada
+ * direto na "réplica" serve de marca para saber de onde a leitura veio, e o batimento é ajustado à mão.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoteamentoTest.PRIMARIA_URL,
+        "votacao.datasource.replica.url=" + ReplicaRoteamentoTest.REPLICA_URL,
+        "votacao.datasource.replica.probe-interval-ms=0",
+        "votacao.datasource.replica.max-lag-ms=5000" })
+@ActiveProfiles("test")
+class ReplicaRoteamentoTest {
+
+    static final String PRIMARIA_URL = "jdbc:h2:mem:roteamento-primaria;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false";
+    static final String REPLICA_URL = "jdbc:h2:mem:roteamento-replica;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false";
+
+    static JdbcTemplate replica;
+
+    @Autowired PautaService pautaService;
+    @Autowired ReplicaMonitor monitor;
+
+    @BeforeAll
+    static void criarReplica() {
+        // numa réplica de verdade o schema chega pela replicação
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @Test
+    @DisplayName("Réplica em dia: listar/get leem nela; escrita vai para a primária; ausente na réplica confirma na primária")
+    void leiturasNaReplicaEmDia() {
+        var gravada = pautaService.criar(new CreatePautaRequest("Na primária", "Roteamento"));
+        UUID soNaReplica = marcarNaReplica();
+        batimento(System.currentTimeMillis());
+        assertThat(monitor.utilizavel()).isTrue();
+
+        assertThat(pautaService.listar(null, 200).itens()).extracting(PautaResumo::id)
+                .contains(soNaReplica).doesNotContain(gravada.getId());
+        assertThat(pautaService.get(soNaReplica).getTitulo()).isEqualTo("Só na réplica");
+        assertThat(pautaService.get(gravada.getId()).getTitulo()).isEqualTo("Na primária");
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM pauta WHERE titulo = 'Na primária'", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Réplica atrasada além do limite: leituras voltam para a primária")
+    void replicaAtrasadaVoltaParaPrimaria() {
+        var gravada = pautaService.criar(new CreatePautaRequest("Na primária 2", "Roteamento"));
+        UUID soNaReplica = marcarNaReplica();
+        batimento(System.currentTimeMillis() - 60_000);
+        assertThat(monitor.utilizavel()).isFalse();
+
+        assertThat(pautaService.listar(null, 200).itens()).extracting(PautaResumo::id)
+                .contains(gravada.getId()).doesNotContain(soNaReplica);
+    }
+
+    private static UUID marcarNaReplica() {
+        UUID id = UUID.randomUUID();
+        replica.update("INSERT INTO pauta (id, titulo, created_at) VALUES (?, 'Só na réplica', CURRENT_TIMESTAMP)",
+                (Object) VotoBatchRepository.toBytes(id));
+        return id;
+    }
+
+    private void batimento(long emMs) {
+        replica.update("UPDATE replica_heartbeat SET batido_em_ms = ? WHERE id = 1", emMs);
+        monitor.sondar();
+    }
+}
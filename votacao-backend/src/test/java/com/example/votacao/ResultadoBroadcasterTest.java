@@ -0,0 +1,160 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.ResultadoBroadcaster;
+import com.example.votacao.service.SessaoJanelaCache;
+
+import reactor.core.Disposable;
+
+/** Broadcaster com placar de mentira e tique de 100 ms: coalescência, evento final e vida do canal. */
+class ResultadoBroadcasterTest {
+
+    static final long TIQUE_MS = 100;
+
+    final UUID pauta = UUID.randomUUID();
+    final PautaService pautaService = mock(PautaService.class);
+    final SessaoJanelaCache janelas = mock(SessaoJanelaCache.class);
+    final AtomicReference<ResultadoDTO> placar = new AtomicReference<>(aberta(0, 0));
+    final AtomicBoolean congelado = new AtomicBoolean();
+    /** Leituras feitas pelo tique (a assinatura usa {@code lerResultado}, fora desta conta). */
+    final AtomicInteger leiturasTique = new AtomicInteger();
+    final List<Disposable> assinaturas = new CopyOnWriteArrayList<>();
+    ResultadoBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(janelas.get(any())).thenReturn(new SessaoJanelaCache.Janela(pauta, UUID.randomUUID(),
+                SessaoStatus.ABERTA, Instant.now().plusSeconds(60)));
+        when(pautaService.lerResultado(any())).thenAnswer(inv -> lido());
+        when(pautaService.lerResultadoInterno(any())).thenAnswer(inv -> {
+            leiturasTique.incrementAndGet();
+            return lido();
+        });
+        broadcaster = new ResultadoBroadcaster(pautaService, janelas, (int) (1000 / TIQUE_MS));
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assinaturas.forEach(Disposable::dispose);
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("SSE: várias mudanças entre dois tiques viram um evento; uma leitura por canal por tique")
+    void coalesceMudancasPorTique() throws Exception {
+        List<ServerSentEvent<ResultadoDTO>> a = assinar();
+        List<ServerSentEvent<ResultadoDTO>> b = assinar();
+        List<ServerSentEvent<ResultadoDTO>> c = assinar();
+        assertThat(a).hasSize(1).first().extracting(ServerSentEvent::event).isEqualTo("resultado");
+
+        // placar parado: nenhum evento novo, mas o canal é lido uma vez por tique, não uma por assinante
+        leiturasTique.set(0);
+        Thread.sleep(5 * TIQUE_MS);
+        assertThat(a).hasSize(1);
+        assertThat(leiturasTique.get()).isBetween(3, 7);
+
+        // 200 votos numa rajada bem menor que o tique: no máximo dois eventos, o último com a contagem final
+        for (int i = 1; i <= 200; i++) placar.set(aberta(i, 0));
+        esperar(() -> !a.isEmpty() && a.get(a.size() - 1).data().sim() == 200);
+        Thread.sleep(2 * TIQUE_MS);
+        for (List<ServerSentEvent<ResultadoDTO>> eventos : List.of(a, b, c)) {
+            assertThat(eventos.size()).isBetween(2, 3);
+            assertThat(eventos.get(eventos.size() - 1).data()).isEqualTo(aberta(200, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("SSE: 'final' só sai com o placar congelado; passado o closesAt (grace) o stream segue aberto")
+    void finalSoDepoisDeCongelado() throws Exception {
+        AtomicBoolean completou = new AtomicBoolean();
+        List<ServerSentEvent<ResultadoDTO>> eventos = new CopyOnWriteArrayList<>();
+        assinaturas.add(broadcaster.assinar(pauta).subscribe(eventos::add, e -> {}, () -> completou.set(true)));
+
+        // sessão vencida mas ainda não encerrada: a contagem muda, sai como 'resultado', sem fechar
+        placar.set(new ResultadoDTO(3, 1, 4, "ENCERRADA"));
+        esperar(() -> eventos.size() == 2);
+        Thread.sleep(3 * TIQUE_MS);
+        assertThat(eventos).extracting(ServerSentEvent::event).containsExactly("resultado", "resultado");
+        assertThat(completou).isFalse();
+
+        placar.set(new ResultadoDTO(3, 2, 5, "ENCERRADA"));
+        congelado.set(true);
+        esperar(completou::get);
+        assertThat(eventos).extracting(ServerSentEvent::event).containsExactly("resultado", "resultado", "final");
+        assertThat(eventos.get(2).data()).isEqualTo(new ResultadoDTO(3, 2, 5, "ENCERRADA"));
+
+        // canal fechado com o final: o tique não lê mais a pauta
+        int leituras = leiturasTique.get();
+        Thread.sleep(3 * TIQUE_MS);
+        assertThat(leiturasTique.get()).isEqualTo(leituras);
+    }
+
+    @Test
+    @DisplayName("SSE: o canal some quando sai o último assinante e renasce na próxima assinatura")
+    void canalRemovidoSemAssinantes() throws Exception {
+        assinar();
+        List<ServerSentEvent<ResultadoDTO>> segundo = assinar();
+        esperar(() -> leiturasTique.get() > 0);
+
+        // sai um: o outro continua recebendo
+        assinaturas.remove(0).dispose();
+        placar.set(aberta(1, 0));
+        esperar(() -> segundo.size() == 2);
+
+        // sai o último: sem canal, o tique para de ler a pauta
+        assinaturas.remove(0).dispose();
+        Thread.sleep(TIQUE_MS);
+        int leituras = leiturasTique.get();
+        Thread.sleep(4 * TIQUE_MS);
+        assertThat(leiturasTique.get()).isEqualTo(leituras);
+
+        // nova assinatura cria outro canal, que volta a publicar
+        List<ServerSentEvent<ResultadoDTO>> terceiro = assinar();
+        assertThat(terceiro).extracting(e -> e.data().sim()).containsExactly(1L);
+        placar.set(aberta(2, 0));
+        esperar(() -> terceiro.size() == 2);
+        assertThat(terceiro.get(1).data()).isEqualTo(aberta(2, 0));
+    }
+
+    private List<ServerSentEvent<ResultadoDTO>> assinar() {
+        List<ServerSentEvent<ResultadoDTO>> eventos = new CopyOnWriteArrayList<>();
+        assinaturas.add(broadcaster.assinar(pauta).subscribe(eventos::add));
+        return eventos;
+    }
+
+    private PautaService.ResultadoLido lido() {
+        return new PautaService.ResultadoLido(placar.get(), congelado.get());
+    }
+
+    private static ResultadoDTO aberta(long sim, long nao) {
+        return new ResultadoDTO(sim, nao, sim + nao, "ABERTA");
+    }
+
+    private static void esperar(BooleanSupplier condicao) throws InterruptedException {
+        for (int i = 0; i < 500 && !condicao.getAsBoolean(); i++) Thread.sleep(10);
+        assertThat(condicao.getAsBoolean()).isTrue();
+    }
+}
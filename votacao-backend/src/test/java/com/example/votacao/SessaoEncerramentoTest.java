@@ -0,0 +1,125 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.ResultadoDTO;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.exception.UnprocessableException;
+import com.example.votacao.repository.ResultadoFinalRepository;
+import com.example.votacao.repository.SessaoVotacaoRepository;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.repository.VotoBatchRepository.Admissao;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.SessaoEncerramentoScheduler;
+import com.example.votacao.service.SessaoJanelaCache;
+import com.example.votacao.service.VotacaoService;
+
+@SpringBootTest(properties = "votacao.encerramento.grace-ms=0")
+@ActiveProfiles("test")
+class SessaoEncerramentoTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired SessaoEncerramentoScheduler scheduler;
+    @Autowired SessaoJanelaCache janelas;
+    @Autowired SessaoVotacaoRepository sessaoRepo;
+    @Autowired ResultadoFinalRepository finais;
+    @Autowired VotoBatchRepository batchRepo;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Encerramento agendado congela o placar e fecha a sessão")
+    void encerraNoHorarioECongelaPlacar() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Encerramento", "Scheduler"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM));
+        votacaoService.votar(pauta.getId(), new VotoRequest("98765432100", OpcaoVoto.NAO));
+        votacaoService.votar(pauta.getId(), new VotoRequest("11144477735", OpcaoVoto.SIM));
+
+        // antecipa o closesAt para agora
+        scheduler.agendar(pauta.getId(), Instant.now());
+        for (int i = 0; i < 50 && finais.findById(pauta.getId()).isEmpty(); i++) Thread.sleep(100);
+
+        assertThat(sessaoRepo.findByPautaId(pauta.getId()).orElseThrow().getStatus())
+                .isEqualTo(SessaoStatus.ENCERRADA);
+        var fim = finais.findById(pauta.getId()).orElseThrow();
+        assertThat(fim.getSim()).isEqualTo(2);
+        assertThat(fim.getNao()).isEqualTo(1);
+
+        ResultadoDTO r = pautaService.resultado(pauta.getId());
+        assertThat(r).isEqualTo(new ResultadoDTO(2, 1, 3, "ENCERRADA"));
+
+        assertThatThrownBy(() -> votacaoService.votar(pauta.getId(), new VotoRequest("52998224725", OpcaoVoto.NAO)))
+                .isInstanceOf(UnprocessableException.class)
+                .hasMessageContaining("Sessão encerrada");
+
+        // encerrar de novo (outra réplica, restart) não duplica nada
+        assertThat(pautaService.encerrarSessao(pauta.getId(), Instant.now())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Admissão no banco: sessão fechada fora do cache recusa o voto; CPF repetido é DUPLICADO")
+    void insertCondicionalConfereSessaoNoBanco() {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Admissão", "INSERT ... SELECT"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM)); // aquece o cache
+
+        Voto repetido = voto(pauta.getId(), 12345678909L);
+        assertThat(batchRepo.admitir(repetido)).isEqualTo(Admissao.DUPLICADO);
+
+        // fechada direto no banco (outra réplica): o cache desta ainda diz ABERTA
+        jdbc.update("UPDATE sessao_votacao SET status = 'ENCERRADA' WHERE pauta_id = ?",
+                (Object) VotoBatchRepository.toBytes(pauta.getId()));
+        assertThatThrownBy(() -> votacaoService.votar(pauta.getId(), new VotoRequest("98765432100", OpcaoVoto.NAO)))
+                .isInstanceOf(UnprocessableException.class)
+                .hasMessageContaining("Sessão encerrada");
+        assertThat(batchRepo.admitir(voto(pauta.getId(), 11144477735L))).isEqualTo(Admissao.ENCERRADA);
+    }
+
+    @Test
+    @DisplayName("Cache da janela: abrir e encerrar a sessão invalidam a entrada, o voto seguinte já vê o novo estado")
+    void abrirEEncerrarInvalidamJanela() {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Janela", "Invalidação"));
+        UUID id = pauta.getId();
+        assertThat(janelas.get(id).temSessao()).isFalse(); // cacheada sem sessão
+
+        var sessao = pautaService.abrirSessao(id, 60);
+        assertThat(janelas.get(id).sessaoId()).isEqualTo(sessao.getId());
+        assertThat(janelas.get(id).status()).isEqualTo(SessaoStatus.ABERTA);
+        votacaoService.votar(id, new VotoRequest("12345678909", OpcaoVoto.SIM));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM voto WHERE pauta_id = ?", Long.class,
+                (Object) VotoBatchRepository.toBytes(id))).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM sessao_votacao WHERE pauta_id = ?", Long.class,
+                (Object) VotoBatchRepository.toBytes(id))).isEqualTo(1);
+
+        assertThat(pautaService.encerrarSessao(id, Instant.now())).isTrue();
+        assertThat(janelas.get(id).status()).isEqualTo(SessaoStatus.ENCERRADA);
+        assertThatThrownBy(() -> votacaoService.votar(id, new VotoRequest("98765432100", OpcaoVoto.NAO)))
+                .isInstanceOf(UnprocessableException.class)
+                .hasMessageContaining("Sessão encerrada");
+    }
+
+    private static Voto voto(UUID pautaId, long cpf) {
+        Voto v = new Voto();
+        v.setPautaId(pautaId);
+        v.setCpf(cpf);
+        v.setOpcao(OpcaoVoto.SIM);
+        v.setCreatedAt(Instant.now());
+        return v;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.domain.UuidV7Generator;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("UUIDv7: versão 7, variante RFC 4122 e os 48 bits iniciais com o epoch em ms")
+    void layout() {
+        long antes = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long depois = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // a sequência pode ter empurrado o relógio lógico à frente (outro teste gerando em rajada)
+        assertThat(timestamp(id)).isBetween(antes, depois + 1000);
+        assertThat(UUID.fromString(id.toString())).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("UUIDv7: estritamente crescente em cada thread e sem repetição entre 8 threads concorrentes")
+    void monotonicoEntreThreads() throws Exception {
+        int threads = 8;
+        int porThread = 50_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<CompletableFuture<long[]>> fs = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            fs.add(CompletableFuture.supplyAsync(() -> {
+                aguardar(largada);
+                long[] msbs = new long[porThread];
+                for (int i = 0; i < porThread; i++) msbs[i] = UuidV7Generator.next().getMostSignificantBits();
+                return msbs;
+            }));
+        }
+        largada.countDown();
+
+        Set<Long> todos = new HashSet<>();
+        for (CompletableFuture<long[]> f : fs) {
+            long[] msbs = f.get(30, TimeUnit.SECONDS);
+            for (int i = 1; i < msbs.length; i++) {
+                // timestamp + sequência ocupam o msb (bit de sinal sempre 0): comparação direta
+                assertThat(msbs[i]).isGreaterThan(msbs[i - 1]);
+            }
+            for (long m : msbs) todos.add(m);
+        }
+        assertThat(todos).hasSize(threads * porThread);
+    }
+
+    @Test
+    @DisplayName("UUIDv7: sequência estourada no mesmo ms passa para o ms seguinte com sequência zero")
+    void estouroDaSequenciaAvancaOMs() {
+        // 4096 ids no mesmo ms estouram os 12 bits; em laço apertado isso acontece em poucos ms
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        UUID anterior = UuidV7Generator.next();
+        boolean virou = false;
+        while (!virou && System.nanoTime() < limite) {
+            UUID id = UuidV7Generator.next();
+            if (sequencia(anterior) == 0xFFF) {
+                assertThat(timestamp(id)).isEqualTo(timestamp(anterior) + 1);
+                assertThat(sequencia(id)).isZero();
+                assertThat(id.getMostSignificantBits()).isGreaterThan(anterior.getMostSignificantBits());
+                assertThat(id.version()).isEqualTo(7);
+                virou = true;
+            }
+            anterior = id;
+        }
+        assertThat(virou).as("a sequência deveria ter estourado em 10 s de geração").isTrue();
+    }
+
+    private static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long sequencia(UUID id) {
+        return id.getMostSignificantBits() & 0xFFFL;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -12,29 +12,47 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.example.votacao.client.CpfEligibilityClient;
 import com.example.votacao.dto.VotoRequest;
 import com.example.votacao.dto.enums.OpcaoVoto;
 import com.example.votacao.exception.UnprocessableException;
-import com.example.votacao.repository.PautaRepository;
 import com.example.votacao.repository.SessaoVotacaoRepository;
-import com.example.votacao.repository.VotoRepository;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.CpfDedupIndex;
+import com.example.votacao.service.DbBulkhead;
+import com.example.votacao.service.ElegibilidadeService;
+import com.example.votacao.service.PlacarStore;
+import com.example.votacao.service.SessaoJanelaCache;
+import com.example.votacao.service.VotacaoMetricas;
 import com.example.votacao.service.VotacaoService;
+import com.example.votacao.service.VotoGroupCommitter;
+import com.example.votacao.service.VotoJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class VotacaoServiceCpfTest {
 
-    VotoRepository votos = mock(VotoRepository.class);
-    PautaRepository pautas = mock(PautaRepository.class);
     SessaoVotacaoRepository sessoes = mock(SessaoVotacaoRepository.class);
-    CpfEligibilityClient cpfClient = mock(CpfEligibilityClient.class);
+    SessaoJanelaCache janelas = mock(SessaoJanelaCache.class);
+    ElegibilidadeService elegibilidade = mock(ElegibilidadeService.class);
+    VotoGroupCommitter groupCommitter = mock(VotoGroupCommitter.class);
+    VotoJournal journal = mock(VotoJournal.class);
+    PlacarStore placar = mock(PlacarStore.class);
+    CpfDedupIndex dedup = mock(CpfDedupIndex.class);
+    VotoBatchRepository batchRepo = mock(VotoBatchRepository.class);
+    ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    DbBulkhead bulkhead = new DbBulkhead(10, 1000, registry);
     Clock clock = Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC);
 
     VotacaoService service;
 
     @BeforeEach
     void setUp() {
-        service = new VotacaoService(votos, pautas, sessoes, cpfClient, clock);
+        service = new VotacaoService(sessoes, janelas, elegibilidade, groupCommitter, journal, placar, dedup, batchRepo, events, bulkhead,
+                new VotacaoMetricas(registry), mock(TransactionTemplate.class), clock);
     }
 
     @Test
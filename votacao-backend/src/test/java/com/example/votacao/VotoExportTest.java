@@ -0,0 +1,80 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VotoExportTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired MockMvc mvc;
+
+    @Test
+    @DisplayName("Export: CSV com CPF mascarado por padrão, NDJSON sem máscara, em ordem de CPF")
+    void exportaVotosDaPauta() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Export", "Auditoria"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("52998224725", OpcaoVoto.NAO));
+        votacaoService.votar(pauta.getId(), new VotoRequest("123.456.789-09", OpcaoVoto.SIM));
+        String url = "/pautas/" + pauta.getId() + "/votos/export";
+
+        MvcResult csv = mvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        String corpoCsv = mvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"votos-" + pauta.getId() + ".csv\""))
+                .andReturn().getResponse().getContentAsString();
+        String[] linhas = corpoCsv.split("\n");
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas[0]).isEqualTo("cpf,opcao,created_at");
+        assertThat(linhas[1]).startsWith("***.456.789-**,SIM,20");
+        assertThat(linhas[2]).startsWith("***.982.247-**,NAO,20");
+
+        MvcResult nd = mvc.perform(get(url).param("formato", "ndjson").param("mascarar", "false"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String corpoNd = mvc.perform(asyncDispatch(nd))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(corpoNd.split("\n"))
+                .hasSize(2)
+                .allMatch(l -> l.matches("\\{\"cpf\":\"\\d{11}\",\"opcao\":\"(SIM|NAO)\",\"createdAt\":\"[^\"]+Z\"}"));
+        assertThat(corpoNd).startsWith("{\"cpf\":\"12345678909\",\"opcao\":\"SIM\"");
+    }
+
+    @Test
+    @DisplayName("Export: formato desconhecido é 422 e pauta inexistente é 404, antes do streaming")
+    void validaAntesDeResponder() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Export 2", "Auditoria"));
+        mvc.perform(get("/pautas/" + pauta.getId() + "/votos/export").param("formato", "xml"))
+                .andExpect(status().isUnprocessableEntity());
+        mvc.perform(get("/pautas/" + UUID.randomUUID() + "/votos/export"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.votacao.domain.Voto;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.DbBulkhead;
+import com.example.votacao.service.PlacarStore;
+import com.example.votacao.service.VotoJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Journal com banco de mentira: votos confirmados com o banco fora, queda com escrita pela metade, subida. */
+class VotoJournalTest {
+
+    /** 16 entradas de 64 bytes por segmento, para o teste passar por vários. */
+    static final long SEGMENTO = 16 * 64;
+
+    @TempDir Path dir;
+
+    final Map<Voto.Chave, Voto> banco = new ConcurrentHashMap<>();
+    final AtomicBoolean bancoFora = new AtomicBoolean();
+    final AtomicLong contados = new AtomicLong();
+    final VotoBatchRepository batchRepo = mock(VotoBatchRepository.class);
+    final PlacarStore placar = new PlacarStore() {
+        @Override
+        public void registrar(UUID pautaId, OpcaoVoto opcao) {
+            contados.incrementAndGet();
+        }
+
+        @Override
+        public Contagem contagem(UUID pautaId) {
+            return new Contagem(0, 0);
+        }
+    };
+    final UUID pauta = UUID.randomUUID();
+    final UUID pautaApagada = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // mesmo contrato do INSERT de verdade: chave já existente é ignorada, placar só dos gravados
+        when(batchRepo.insertAllSkippingDuplicates(anyList(), any())).thenAnswer(inv -> {
+            if (bancoFora.get()) throw new DataAccessResourceFailureException("banco fora");
+            List<Voto> votos = inv.getArgument(0);
+            if (votos.stream().anyMatch(v -> v.getPautaId().equals(pautaApagada))) {
+                throw new DataIntegrityViolationException("fk_voto_pauta");
+            }
+            boolean[] gravado = new boolean[votos.size()];
+            List<Voto> novos = new ArrayList<>();
+            for (int i = 0; i < votos.size(); i++) {
+                Voto v = votos.get(i);
+                gravado[i] = banco.putIfAbsent(new Voto.Chave(v.getPautaId(), v.getCpf()), v) == null;
+                if (gravado[i]) novos.add(v);
+            }
+            ((Consumer<List<Voto>>) inv.getArgument(1)).accept(novos);
+            return gravado;
+        });
+    }
+
+    @Test
+    @DisplayName("Journal: votos confirmados antes da queda são aplicados uma vez na subida; cauda rasgada é descartada")
+    void recuperaDepoisDeQueda() throws Exception {
+        bancoFora.set(true);
+        VotoJournal antes = journal(new SimpleMeterRegistry());
+        antes.start();
+        Instant t = Instant.parse("2025-01-01T10:00:00.123456789Z");
+        for (int i = 0; i < 40; i++) {
+            antes.gravar(voto(i, i % 3 == 0 ? OpcaoVoto.NAO : OpcaoVoto.SIM, t.plusMillis(i)));
+        }
+        antes.stop(); // "queda": nada foi para o banco
+        assertThat(banco).isEmpty();
+
+        // escrita do seq 41 interrompida no meio (entrada 8 do segmento que começa no 33)
+        try (FileChannel c = FileChannel.open(dir.resolve("votos-00000000000000000033.jrnl"), StandardOpenOption.WRITE)) {
+            c.write(ByteBuffer.allocate(20).putInt(0x564F544F).putInt(12345).putLong(41).putInt(7).flip(), 8 * 64);
+        }
+
+        bancoFora.set(false);
+        VotoJournal depois = journal(new SimpleMeterRegistry());
+        depois.start();
+        assertThat(banco).hasSize(40);
+        assertThat(contados.get()).isEqualTo(40);
+        Voto v7 = banco.get(new Voto.Chave(pauta, 7));
+        assertThat(v7.getOpcao()).isEqualTo(OpcaoVoto.SIM);
+        assertThat(v7.getCreatedAt()).isEqualTo(t.plusMillis(7).truncatedTo(ChronoUnit.MICROS));
+
+        // o próximo voto ocupa o lugar da entrada rasgada
+        depois.gravar(voto(40, OpcaoVoto.NAO, t));
+        assertThat(depois.aguardarAplicacao(5000)).isTrue();
+        assertThat(banco).hasSize(41);
+        depois.stop();
+        // segmentos já aplicados foram apagados; sobra o ativo
+        assertThat(segmentos()).containsExactly("votos-00000000000000000033.jrnl");
+
+        // sem o checkpoint, a reaplicação do que sobrou é ignorada pelo banco
+        Files.delete(dir.resolve("aplicado"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VotoJournal terceira = journal(registry);
+        terceira.start();
+        terceira.stop();
+        assertThat(banco).hasSize(41);
+        assertThat(contados.get()).isEqualTo(41);
+        assertThat(registry.counter("votacao.journal.ignorados").count()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Journal: cauda depois de um buraco é zerada na subida e não volta depois de outra queda")
+    void caudaDepoisDoBuracoNaoVolta() throws Exception {
+        bancoFora.set(true);
+        VotoJournal antes = journal(new SimpleMeterRegistry());
+        antes.start();
+        Instant t = Instant.parse("2025-01-01T10:00:00Z");
+        for (int i = 1; i <= 10; i++) antes.gravar(voto(i, OpcaoVoto.SIM, t));
+        antes.stop();
+
+        // seq 5 não chegou ao disco inteira (CRC não confere); 6..10 continuam válidas
+        try (FileChannel c = FileChannel.open(dir.resolve("votos-00000000000000000001.jrnl"), StandardOpenOption.WRITE)) {
+            c.write(ByteBuffer.allocate(8).putLong(-1L).flip(), 4 * 64 + 32);
+        }
+
+        bancoFora.set(false);
+        VotoJournal depois = journal(new SimpleMeterRegistry());
+        depois.start();
+        assertThat(banco).hasSize(4);
+        depois.gravar(voto(100, OpcaoVoto.NAO, t)); // ocupa o seq 5
+        depois.stop();
+        assertThat(banco).hasSize(5);
+
+        // nova subida (sem checkpoint, reaplica tudo o que é válido): 6..10 não podem reaparecer
+        Files.delete(dir.resolve("aplicado"));
+        VotoJournal terceira = journal(new SimpleMeterRegistry());
+        terceira.start();
+        terceira.stop();
+        assertThat(banco.values()).extracting(Voto::getCpf).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 100L);
+    }
+
+    @Test
+    @DisplayName("Journal: entrada que o banco recusa vai para rejeitados.ndjson e não trava as seguintes")
+    void entradaRecusadaNaoTravaOJournal() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VotoJournal j = journal(registry);
+        j.start();
+        Instant t = Instant.parse("2025-01-01T10:00:00Z");
+        for (int i = 0; i < 10; i++) {
+            Voto v = voto(i, OpcaoVoto.SIM, t);
+            if (i == 4) v.setPautaId(pautaApagada);
+            j.gravar(v);
+        }
+        assertThat(j.aguardarAplicacao(5000)).isTrue();
+        j.stop();
+
+        assertThat(banco).hasSize(9);
+        assertThat(registry.counter("votacao.journal.rejeitados").count()).isEqualTo(1);
+        List<String> rejeitados = Files.readAllLines(dir.resolve("rejeitados.ndjson"));
+        assertThat(rejeitados).hasSize(1);
+        assertThat(rejeitados.get(0)).contains("\"seq\":5", pautaApagada.toString(), "DataIntegrityViolationException");
+    }
+
+    private VotoJournal journal(SimpleMeterRegistry registry) {
+        return new VotoJournal(batchRepo, placar, new DbBulkhead(4, 1000, registry), registry, true, dir.toString(),
+                SEGMENTO, 8, 1);
+    }
+
+    private Voto voto(long cpf, OpcaoVoto opcao, Instant createdAt) {
+        Voto v = new Voto();
+        v.setPautaId(pauta);
+        v.setCpf(cpf);
+        v.setOpcao(opcao);
+        v.setCreatedAt(createdAt);
+        return v;
+    }
+
+    private List<String> segmentos() throws Exception {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.map(p -> p.getFileName().toString()).filter(n -> n.endsWith(".jrnl")).sorted().toList();
+        }
+    }
+}
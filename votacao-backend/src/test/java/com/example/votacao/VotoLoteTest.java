@@ -0,0 +1,106 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.VotoLoteResultado;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.dto.enums.StatusVotoLote;
+import com.example.votacao.repository.VotoBatchRepository;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+import com.example.votacao.service.VotacaoService.LinhaLote;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VotoLoteTest {
+
+    @Autowired PautaService pautaService;
+    @Autowired VotacaoService votacaoService;
+    @Autowired MockMvc mvc;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Lote NDJSON: uma resposta por linha com criado, duplicado e inválido; placar soma só os criados")
+    void desfechoPorLinha() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Lote", "votos:bulk"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        String corpo = """
+                {"cpf":"123.456.789-09","opcao":"SIM"}
+                {"cpf":"52998224725","opcao":"NAO"}
+                {"cpf":"12345678909","opcao":"NAO"}
+                {"cpf":"12345678900","opcao":"SIM"}
+                {"cpf":
+                """;
+
+        MvcResult r = mvc.perform(post("/pautas/" + pauta.getId() + "/votos:bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON).content(corpo))
+                .andExpect(request().asyncStarted()).andReturn();
+        String resposta = mvc.perform(asyncDispatch(r))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(resposta.split("\n")).containsExactly(
+                "{\"linha\":1,\"status\":\"CRIADO\",\"mensagem\":null}",
+                "{\"linha\":2,\"status\":\"CRIADO\",\"mensagem\":null}",
+                "{\"linha\":3,\"status\":\"DUPLICADO\",\"mensagem\":\"Associado já votou nesta pauta\"}",
+                "{\"linha\":4,\"status\":\"INVALIDO\",\"mensagem\":\"CPF inválido\"}",
+                "{\"linha\":5,\"status\":\"INVALIDO\",\"mensagem\":\"JSON inválido\"}");
+        var resultado = pautaService.resultado(pauta.getId());
+        assertThat(resultado.sim()).isEqualTo(1);
+        assertThat(resultado.nao()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Voto avulso: CPF com DV errado é 422 'CPF inválido', o mesmo desfecho da linha do lote")
+    void votoAvulsoCpfInvalido() throws Exception {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Avulso", "votar"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+
+        mvc.perform(post("/pautas/" + pauta.getId() + "/votar")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"cpf\":\"12345678900\",\"opcao\":\"SIM\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().json("{\"message\":\"CPF inválido\"}"));
+    }
+
+    @Test
+    @DisplayName("Lote NDJSON: pedaço que chega depois do encerramento no banco sai SESSAO_ENCERRADA e não grava")
+    void pedacoDepoisDoEncerramento() {
+        var pauta = pautaService.criar(new CreatePautaRequest("Pauta Lote Encerrada", "votos:bulk"));
+        pautaService.abrirSessao(pauta.getId(), 60);
+        votacaoService.votar(pauta.getId(), new VotoRequest("12345678909", OpcaoVoto.SIM)); // aquece o cache
+
+        // congelada no banco (outra réplica, ou o agendador): o cache desta ainda diz ABERTA
+        jdbc.update("UPDATE sessao_votacao SET status = 'ENCERRADA' WHERE pauta_id = ?",
+                (Object) VotoBatchRepository.toBytes(pauta.getId()));
+        List<VotoLoteResultado> out = votacaoService.votarLote(pauta.getId(), List.of(
+                new LinhaLote(1, new VotoRequest("52998224725", OpcaoVoto.NAO)),
+                new LinhaLote(2, new VotoRequest("11144477735", OpcaoVoto.SIM))));
+
+        assertThat(out).extracting(VotoLoteResultado::status)
+                .containsExactly(StatusVotoLote.SESSAO_ENCERRADA, StatusVotoLote.SESSAO_ENCERRADA);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM voto WHERE pauta_id = ?", Long.class,
+                (Object) VotoBatchRepository.toBytes(pauta.getId()))).isEqualTo(1);
+    }
+}
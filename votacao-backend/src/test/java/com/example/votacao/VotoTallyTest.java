@@ -0,0 +1,56 @@
+package com.example.votacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.repository.VotoRepository;
+import com.example.votacao.service.VotoTally;
+
+class VotoTallyTest {
+
+    VotoRepository votos = mock(VotoRepository.class);
+
+    @Test
+    void reconstroiDoBancoEContaExatoSobConcorrencia() throws Exception {
+        var pautaId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { pautaId, OpcaoVoto.SIM, 10L });
+        rows.add(new Object[] { pautaId, OpcaoVoto.NAO, 5L });
+        when(votos.countGroupByPautaAndOpcao()).thenReturn(rows);
+
+        var tally = new VotoTally(votos);
+        tally.rebuild();
+
+        int threads = 16, porThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            OpcaoVoto opcao = t % 2 == 0 ? OpcaoVoto.SIM : OpcaoVoto.NAO;
+            pool.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porThread; i++) tally.registrar(pautaId, opcao);
+                return null;
+            });
+        }
+        largada.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        var c = tally.contagem(pautaId);
+        assertThat(c.sim()).isEqualTo(10L + (threads / 2) * porThread);
+        assertThat(c.nao()).isEqualTo(5L + (threads / 2) * porThread);
+        assertThat(tally.contagem(UUID.randomUUID()).total()).isZero();
+    }
+}
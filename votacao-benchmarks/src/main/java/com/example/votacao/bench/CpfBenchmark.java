@@ -0,0 +1,85 @@
+package com.example.votacao.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * CPF no caminho do voto, antes e depois do {@link Cpf}: só a conversão ({@code legado} = regex do
+ * {@code @Pattern} + {@code replaceAll} + {@code parseLong}) e a desserialização do corpo inteiro.
+ * Alocação por chamada: rode com {@code -prof gc} e compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CpfBenchmark {
+
+    private static final String[] CPFS = {
+            "123.456.789-09", "12345678909", "987.654.321-00", "98765432100",
+            "111.444.777-35", "11144477735", "529.982.247-25", "52998224725"
+    };
+    private static final Pattern PATTERN_LEGADO = Pattern.compile("\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+
+    /** Corpo do voto como era antes: CPF em String. */
+    public record VotoRequestLegado(String cpf, OpcaoVoto opcao) {}
+
+    private final byte[][] corpos = new byte[CPFS.length][];
+    private final ObjectReader leitor;
+    private final ObjectReader leitorLegado;
+    private int i;
+
+    public CpfBenchmark() {
+        for (int k = 0; k < CPFS.length; k++) {
+            corpos[k] = ("{\"cpf\":\"" + CPFS[k] + "\",\"opcao\":\"SIM\"}").getBytes(StandardCharsets.UTF_8);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        leitor = mapper.readerFor(VotoRequest.class);
+        leitorLegado = mapper.readerFor(VotoRequestLegado.class);
+    }
+
+    @Benchmark
+    public long legado() {
+        String cpf = CPFS[i++ & 7];
+        if (!PATTERN_LEGADO.matcher(cpf).matches()) return -1;
+        String digitos = cpf.replaceAll("\\D", "");
+        return digitos.length() == 11 ? Long.parseLong(digitos) : -1;
+    }
+
+    @Benchmark
+    public boolean codec() {
+        return Cpf.isValido(Cpf.parse(CPFS[i++ & 7]));
+    }
+
+    @Benchmark
+    public long bindLegado() throws Exception {
+        VotoRequestLegado r = leitorLegado.readValue(corpos[i++ & 7]);
+        if (!PATTERN_LEGADO.matcher(r.cpf()).matches()) return -1;
+        String digitos = r.cpf().replaceAll("\\D", "");
+        return digitos.length() == 11 ? Long.parseLong(digitos) : -1;
+    }
+
+    @Benchmark
+    public boolean bind() throws Exception {
+        VotoRequest r = leitor.readValue(corpos[i++ & 7]);
+        return Cpf.isValido(r.cpf());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.votacao.bench;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.votacao.domain.SessaoVotacao;
+import com.example.votacao.dto.enums.SessaoStatus;
+import com.example.votacao.service.SessaoJanelaCache;
+
+/**
+ * Checagem "sessão aberta agora?" do caminho do voto. {@code legado} reproduz a versão antiga
+ * ({@code String.valueOf} + {@code equalsIgnoreCase}) como linha de base.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatusBenchmark {
+
+    private SessaoJanelaCache.Janela janela;
+    private SessaoVotacao sessao;
+    private Instant agora;
+
+    @Setup
+    public void setup() {
+        agora = Instant.now();
+        sessao = new SessaoVotacao(UUID.randomUUID(), agora, 60);
+        janela = new SessaoJanelaCache.Janela(sessao.getPautaId(), UUID.randomUUID(), SessaoStatus.ABERTA,
+                sessao.getClosesAt());
+    }
+
+    @Benchmark
+    public boolean janela() {
+        return janela.isAbertaAgora(agora);
+    }
+
+    @Benchmark
+    public boolean legado() {
+        if (sessao.getClosesAt() == null) return false;
+        final String status = String.valueOf(sessao.getStatus());
+        final boolean statusAberta = status != null && "ABERTA".equalsIgnoreCase(status.trim());
+        return statusAberta && agora.isBefore(sessao.getClosesAt());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.votacao.bench;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.service.VotoTally;
+
+/**
+ * Placar do resultado: leitura e incremento concorrentes no {@link VotoTally}, e a dobra das linhas
+ * {@code Object[]} do GROUP BY que o {@code resultado} fazia antes (linha de base).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TallyBenchmark {
+
+    private VotoTally tally;
+    private UUID pautaId;
+    private List<Object[]> linhas;
+
+    @Setup
+    public void setup() {
+        tally = new VotoTally(null); // sem rebuild: o repositório só é usado na subida
+        pautaId = UUID.randomUUID();
+        for (int i = 0; i < 1000; i++) tally.registrar(pautaId, i % 3 == 0 ? OpcaoVoto.NAO : OpcaoVoto.SIM);
+        linhas = List.of(new Object[] { OpcaoVoto.SIM, 667L }, new Object[] { OpcaoVoto.NAO, 333L });
+    }
+
+    @Benchmark
+    @Threads(4)
+    public VotoTally.Contagem contagem() {
+        return tally.contagem(pautaId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void registrar() {
+        tally.registrar(pautaId, OpcaoVoto.SIM);
+    }
+
+    @Benchmark
+    public long foldLegado() {
+        long sim = 0, nao = 0;
+        for (Object[] r : linhas) {
+            String opcao = r[0].toString();
+            long count = ((Number) r[1]).longValue();
+            if ("SIM".equalsIgnoreCase(opcao)) sim = count;
+            else if ("NAO".equalsIgnoreCase(opcao)) nao = count;
+        }
+        return sim + nao;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.votacao.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.votacao.VotacaoApplication;
+import com.example.votacao.domain.Cpf;
+import com.example.votacao.dto.CreatePautaRequest;
+import com.example.votacao.dto.VotoRequest;
+import com.example.votacao.dto.enums.OpcaoVoto;
+import com.example.votacao.service.PautaService;
+import com.example.votacao.service.VotacaoService;
+
+/**
+ * {@link VotacaoService#votar} de ponta a ponta contra H2 em memória (contexto Spring completo, sem
+ * camada web). Cada chamada usa um CPF novo (e válido), então todas gravam.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class VotarBenchmark {
+
+    /** direta: um commit por voto; groupCommit: commit por lote; journal: fsync no journal local. */
+    @Param({ "direta", "groupCommit", "journal" })
+    public String gravacao;
+
+    private ConfigurableApplicationContext ctx;
+    private Path journalDir;
+    private VotacaoService votacao;
+    private UUID pautaId;
+    private final AtomicLong proximaBase = new AtomicLong(100_000_000L);
+
+    @Setup(Level.Trial)
+    public void subir() throws IOException {
+        journalDir = Files.createTempDirectory("votar-bench-journal");
+        ctx = new SpringApplicationBuilder(VotacaoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--cpf.check.enabled=false",
+                        "--votacao.ingest.group-commit.enabled=" + gravacao.equals("groupCommit"),
+                        "--votacao.ingest.journal.enabled=" + gravacao.equals("journal"),
+                        "--votacao.ingest.journal.dir=" + journalDir,
+                        "--spring.main.banner-mode=off",
+                        "--spring.main.log-startup-info=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.votacao=WARN");
+        votacao = ctx.getBean(VotacaoService.class);
+        PautaService pautas = ctx.getBean(PautaService.class);
+        pautaId = pautas.criar(new CreatePautaRequest("Benchmark", "votar contra H2")).getId();
+        pautas.abrirSessao(pautaId, 24 * 60);
+    }
+
+    @TearDown(Level.Trial)
+    public void descer() throws IOException {
+        ctx.close();
+        try (Stream<Path> arquivos = Files.list(journalDir)) {
+            for (Path p : arquivos.toList()) Files.delete(p);
+        }
+        Files.delete(journalDir);
+    }
+
+    /** Base de 9 dígitos + os dígitos verificadores. */
+    static long cpfValido(long base) {
+        for (int dv = 0; dv < 100; dv++) {
+            if (Cpf.isValido(base * 100 + dv)) return base * 100 + dv;
+        }
+        throw new IllegalArgumentException("base sem DV válido: " + base);
+    }
+
+    @Benchmark
+    public void votar() {
+        long base = proximaBase.getAndIncrement();
+        votacao.votar(pautaId, new VotoRequest(cpfValido(base), (base & 1) == 0 ? OpcaoVoto.SIM : OpcaoVoto.NAO));
+    }
+}
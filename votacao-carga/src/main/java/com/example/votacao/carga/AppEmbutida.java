@@ -0,0 +1,53 @@
+package com.example.votacao.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.votacao.VotacaoApplication;
+
+/**
+ * Sobe a API no mesmo processo, em porta aleatória, contra H2 em memória ou o MySQL configurado. Sem o
+ * limite de concorrência adaptativo e sem o rate limit por cliente: a rodada mede o teto da app, não o
+ * dos limitadores.
+ */
+final class AppEmbutida implements AutoCloseable {
+
+    private final ConfigurableApplicationContext ctx;
+    private final String baseUrl;
+
+    AppEmbutida(String db) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--cpf.check.enabled=false",
+                "--votacao.http.limite.enabled=false",
+                "--votacao.rate-limit.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.votacao=WARN"));
+        if ("h2".equalsIgnoreCase(db)) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    // mesma config dos testes: o validate do Hibernate não enxerga o schema do H2 em modo MySQL
+                    "--spring.jpa.hibernate.ddl-auto=none"));
+        }
+        ctx = new SpringApplicationBuilder(VotacaoApplication.class).run(args.toArray(String[]::new));
+        var env = ctx.getEnvironment();
+        baseUrl = "http://localhost:" + env.getProperty("local.server.port")
+                + env.getProperty("server.servlet.context-path", "");
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        ctx.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.votacao.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Gerador de carga da API: cria as pautas, abre as sessões via {@code POST /pautas/{id}/sessao},
+ * dispara o mix de {@code votar}/{@code resultado}/{@code listar} na taxa alvo e imprime p50/p99/p999
+ * e taxa de erro por endpoint. Parâmetros em {@link Opcoes}.
+ */
+public final class Carga {
+
+    public static void main(String[] args) throws Exception {
+        Opcoes opcoes = Opcoes.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+        AppEmbutida app = opcoes.url() == null ? new AppEmbutida(opcoes.db()) : null;
+        try {
+            String base = app != null ? app.baseUrl() : opcoes.url().replaceAll("/+$", "");
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            List<String> pautas = preparar(http, base, opcoes, mapper);
+            System.out.printf("Alvo %s | %d req/s por %ds (+%ds aquecimento) | mix %s | %d pautas%n",
+                    base, opcoes.rate(), opcoes.duracaoSeg(), opcoes.aquecimentoSeg(), opcoes.mix(), pautas.size());
+
+            Relatorio relatorio = new Relatorio(opcoes.duracaoSeg());
+            new Gerador(http, base, pautas, opcoes, relatorio).rodar();
+
+            relatorio.imprimir(System.out);
+            if (opcoes.json() != null) relatorio.gravarJson(Path.of(opcoes.json()), mapper);
+        } finally {
+            if (app != null) app.close();
+        }
+        System.exit(0);
+    }
+
+    private static List<String> preparar(HttpClient http, String base, Opcoes opcoes, ObjectMapper mapper)
+            throws Exception {
+        // sessão dura a rodada inteira com folga
+        long minutos = (opcoes.aquecimentoSeg() + opcoes.duracaoSeg()) / 60 + 5;
+        List<String> ids = new ArrayList<>(opcoes.pautas());
+        for (int i = 0; i < opcoes.pautas(); i++) {
+            String corpo = mapper.writeValueAsString(
+                    Map.of("titulo", "Carga " + i, "descricao", "Gerada pelo votacao-carga"));
+            HttpResponse<String> criada = enviar(http, HttpRequest.newBuilder(URI.create(base + "/pautas"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo)).build());
+            String id = mapper.readTree(criada.body()).get("id").asText();
+            enviar(http, HttpRequest.newBuilder(URI.create(base + "/pautas/" + id + "/sessao?duracao=" + minutos))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static HttpResponse<String> enviar(HttpClient http, HttpRequest req) throws Exception {
+        HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+        if (resp.statusCode() >= 400) {
+            throw new IllegalStateException(req.method() + " " + req.uri() + " -> HTTP " + resp.statusCode());
+        }
+        return resp;
+    }
+}
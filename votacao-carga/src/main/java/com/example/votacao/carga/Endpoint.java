@@ -0,0 +1,3 @@
+package com.example.votacao.carga;
+
+enum Endpoint { VOTAR, RESULTADO, LISTAR }
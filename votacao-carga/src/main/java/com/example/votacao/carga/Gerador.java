@@ -0,0 +1,118 @@
+package com.example.votacao.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.votacao.domain.Cpf;
+
+/**
+ * Carga em malha aberta: as requisições saem na taxa alvo independente de quanto o servidor demora
+ * (cada uma tem um instante previsto), com sorteio do endpoint pelos pesos do {@code --mix}, pauta
+ * sorteada e um CPF novo (e válido) por voto.
+ */
+final class Gerador {
+
+    private static final String SATURADO = "cliente saturado";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<String> pautas;
+    private final Opcoes opcoes;
+    private final Relatorio relatorio;
+    private final Endpoint[] roleta;
+    private final Semaphore emVoo;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long proximoCpf = 100_000_000L;
+
+    Gerador(HttpClient http, String baseUrl, List<String> pautas, Opcoes opcoes, Relatorio relatorio) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.pautas = pautas;
+        this.opcoes = opcoes;
+        this.relatorio = relatorio;
+        this.emVoo = new Semaphore(opcoes.maxInFlight());
+        int soma = opcoes.mix().values().stream().mapToInt(Integer::intValue).sum();
+        this.roleta = new Endpoint[soma];
+        int i = 0;
+        for (Map.Entry<Endpoint, Integer> e : opcoes.mix().entrySet()) {
+            for (int k = 0; k < e.getValue(); k++) roleta[i++] = e.getKey();
+        }
+    }
+
+    void rodar() throws InterruptedException {
+        double intervaloNs = 1e9 / opcoes.rate();
+        long inicio = System.nanoTime();
+        long medirDesde = inicio + TimeUnit.SECONDS.toNanos(opcoes.aquecimentoSeg());
+        long fim = medirDesde + TimeUnit.SECONDS.toNanos(opcoes.duracaoSeg());
+        long enviados = 0;
+        while (true) {
+            long agora = System.nanoTime();
+            if (agora >= fim) break;
+            // a requisição k sai no instante inicio + k * intervalo
+            long devidos = (long) ((agora - inicio) / intervaloNs) + 1;
+            for (; enviados < devidos; enviados++) {
+                long previsto = inicio + (long) (enviados * intervaloNs);
+                disparar(previsto, previsto >= medirDesde);
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        // espera as que ainda estão em voo
+        if (emVoo.tryAcquire(opcoes.maxInFlight(), 30, TimeUnit.SECONDS)) emVoo.release(opcoes.maxInFlight());
+    }
+
+    private void disparar(long previsto, boolean medir) {
+        Endpoint e = roleta[random.nextInt(roleta.length)];
+        if (!emVoo.tryAcquire()) {
+            if (medir) relatorio.erro(e, SATURADO);
+            return;
+        }
+        http.sendAsync(requisicao(e), HttpResponse.BodyHandlers.discarding()).whenComplete((resp, falha) -> {
+            emVoo.release();
+            if (!medir) return;
+            long latencia = System.nanoTime() - previsto;
+            if (falha != null) {
+                relatorio.erro(e, latencia, falha.getClass().getSimpleName());
+            } else if (resp.statusCode() == 429) {
+                relatorio.recusada(e);
+            } else if (resp.statusCode() >= 400) {
+                relatorio.erro(e, latencia, "HTTP " + resp.statusCode());
+            } else {
+                relatorio.sucesso(e, latencia);
+            }
+        });
+    }
+
+    private HttpRequest requisicao(Endpoint e) {
+        String pauta = pautas.get(random.nextInt(pautas.size()));
+        HttpRequest.Builder b = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (e) {
+            case VOTAR -> b.uri(URI.create(baseUrl + "/pautas/" + pauta + "/votar"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"cpf\":\"" + proximoCpf() + "\",\"opcao\":\"" + (random.nextBoolean() ? "SIM" : "NAO") + "\"}"))
+                    .build();
+            case RESULTADO -> b.uri(URI.create(baseUrl + "/pautas/" + pauta + "/resultado")).GET().build();
+            case LISTAR -> b.uri(URI.create(baseUrl + "/pautas")).GET().build();
+        };
+    }
+
+    /** Próxima base de 9 dígitos com os verificadores que a própria app confere ({@link Cpf}). */
+    private String proximoCpf() {
+        while (true) {
+            long base = proximoCpf++;
+            for (int dv = 0; dv < 100; dv++) {
+                if (Cpf.isValido(base * 100 + dv)) return Cpf.formatar(base * 100 + dv);
+            }
+            // sequência repetida (111.111.111-..): nenhum DV vale, segue para a próxima base
+        }
+    }
+}
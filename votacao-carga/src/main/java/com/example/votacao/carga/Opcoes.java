@@ -0,0 +1,51 @@
+package com.example.votacao.carga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros da rodada, no formato {@code --chave=valor}:
+ * <ul>
+ * <li>{@code --url}: API já no ar (ex.: http://localhost:8080/api/v1); sem ela a app sobe embutida;</li>
+ * <li>{@code --db}: banco da app embutida, {@code h2} (padrão) ou {@code mysql} (usa SPRING_DATASOURCE_*);</li>
+ * <li>{@code --rate}: requisições/s somando todos os endpoints;</li>
+ * <li>{@code --duration} e {@code --warmup}: segundos de medição e de aquecimento (descartado);</li>
+ * <li>{@code --mix}: pesos por endpoint, ex. {@code votar:80,resultado:15,listar:5};</li>
+ * <li>{@code --pautas}: pautas criadas (com sessão aberta) e sorteadas a cada voto/resultado;</li>
+ * <li>{@code --max-in-flight}: requisições pendentes acima disso contam como erro (cliente saturado);</li>
+ * <li>{@code --json}: arquivo para gravar o relatório em JSON.</li>
+ * </ul>
+ */
+record Opcoes(String url, String db, int rate, int duracaoSeg, int aquecimentoSeg, Map<Endpoint, Integer> mix,
+        int pautas, int maxInFlight, String json) {
+
+    static Opcoes parse(String[] args) {
+        Map<String, String> a = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Argumento inválido: " + arg);
+            int eq = arg.indexOf('=');
+            a.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return new Opcoes(
+                a.get("url"),
+                a.getOrDefault("db", "h2"),
+                Integer.parseInt(a.getOrDefault("rate", "500")),
+                Integer.parseInt(a.getOrDefault("duration", "30")),
+                Integer.parseInt(a.getOrDefault("warmup", "5")),
+                mix(a.getOrDefault("mix", "votar:80,resultado:15,listar:5")),
+                Integer.parseInt(a.getOrDefault("pautas", "10")),
+                Integer.parseInt(a.getOrDefault("max-in-flight", "2000")),
+                a.get("json"));
+    }
+
+    private static Map<Endpoint, Integer> mix(String spec) {
+        Map<Endpoint, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : spec.split(",")) {
+            String[] kv = parte.trim().split(":");
+            int peso = Integer.parseInt(kv[1].trim());
+            if (peso > 0) pesos.put(Endpoint.valueOf(kv[0].trim().toUpperCase()), peso);
+        }
+        if (pesos.isEmpty()) throw new IllegalArgumentException("--mix sem nenhum endpoint com peso > 0");
+        return pesos;
+    }
+}
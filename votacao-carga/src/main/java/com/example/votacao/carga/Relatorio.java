@@ -0,0 +1,120 @@
+package com.example.votacao.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Latência (HdrHistogram, em µs) e erros por endpoint. A latência conta a partir do instante em que a
+ * requisição <i>deveria</i> ter saído pela taxa alvo, então fila no cliente ou no servidor aparece no
+ * p99 em vez de sumir (coordinated omission). Resposta 429 (limite de concorrência ou de taxa da API)
+ * é contada à parte e fica fora do histograma: é o limitador recusando rápido, não a latência da app.
+ */
+final class Relatorio {
+
+    private static final long MAX_US = TimeUnit.MINUTES.toMicros(2);
+
+    private static final class Stats {
+        final Histogram latencia = new ConcurrentHistogram(MAX_US, 3);
+        final LongAdder erros = new LongAdder();
+        final LongAdder semLatencia = new LongAdder();
+        final LongAdder recusadas = new LongAdder();
+        final Map<String, LongAdder> motivos = new ConcurrentHashMap<>();
+    }
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final int duracaoSeg;
+
+    Relatorio(int duracaoSeg) {
+        this.duracaoSeg = duracaoSeg;
+        for (Endpoint e : Endpoint.values()) stats.put(e, new Stats());
+    }
+
+    void sucesso(Endpoint e, long latenciaNanos) {
+        stats.get(e).latencia.recordValue(Math.min(MAX_US, TimeUnit.NANOSECONDS.toMicros(latenciaNanos)));
+    }
+
+    /** Erro com latência (resposta 4xx/5xx ou falha de I/O). */
+    void erro(Endpoint e, long latenciaNanos, String motivo) {
+        sucesso(e, latenciaNanos);
+        erro(e, motivo);
+    }
+
+    /** Erro sem latência: a requisição nem saiu (cliente saturado). */
+    void erro(Endpoint e, String motivo) {
+        Stats s = stats.get(e);
+        s.semLatencia.increment();
+        s.erros.increment();
+        s.motivos.computeIfAbsent(motivo, k -> new LongAdder()).increment();
+    }
+
+    /** 429 da API: nem sucesso nem erro, e sem latência. */
+    void recusada(Endpoint e) {
+        Stats s = stats.get(e);
+        s.semLatencia.increment();
+        s.recusadas.increment();
+    }
+
+    void imprimir(PrintStream out) {
+        out.printf("%-10s %9s %9s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "reqs", "req/s", "erro%", "429%", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (var entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long total = total(s);
+            if (total == 0) continue;
+            Histogram h = s.latencia;
+            out.printf("%-10s %9d %9.1f %7.2f%% %7.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().name().toLowerCase(), total, (double) total / duracaoSeg,
+                    100.0 * s.erros.sum() / total, 100.0 * s.recusadas.sum() / total,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+            s.motivos.forEach((motivo, n) -> out.printf("%12s %s: %d%n", "", motivo, n.sum()));
+        }
+    }
+
+    void gravarJson(Path arquivo, ObjectMapper mapper) throws IOException {
+        Map<String, Object> raiz = new LinkedHashMap<>();
+        raiz.put("duracaoSeg", duracaoSeg);
+        for (var entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long total = total(s);
+            if (total == 0) continue;
+            Histogram h = s.latencia;
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("reqs", total);
+            m.put("reqPorSeg", (double) total / duracaoSeg);
+            m.put("erros", s.erros.sum());
+            m.put("taxaErro", (double) s.erros.sum() / total);
+            m.put("recusadas429", s.recusadas.sum());
+            m.put("p50Ms", ms(h.getValueAtPercentile(50)));
+            m.put("p99Ms", ms(h.getValueAtPercentile(99)));
+            m.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+            m.put("maxMs", ms(h.getMaxValue()));
+            Map<String, Long> motivos = new LinkedHashMap<>();
+            s.motivos.forEach((k, v) -> motivos.put(k, v.sum()));
+            m.put("errosPorMotivo", motivos);
+            raiz.put(entry.getKey().name().toLowerCase(), m);
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), raiz);
+    }
+
+    private static long total(Stats s) {
+        // cliente saturado e 429 não entram no histograma
+        return s.latencia.getTotalCount() + s.semLatencia.sum();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
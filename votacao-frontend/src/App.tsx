@@ -93,30 +93,17 @@ export default function App() {
   const [resOpen, setResOpen] = useState(false)
   const [resultado, setResultado] = useState<Resultado | null>(null)
   const [pollId, setPollId] = useState<number | null>(null)
+  const [proximo, setProximo] = useState<string | null>(null)
 
 
-  async function carregar() {
+  async function carregar(cursor?: string) {
     setLoading(true)
     try {
-      const { data } = await axios.get<Pauta[]>(URL)
+      // lista resumida já vem com o status da sessão; cursor no header X-Next-Cursor
+      const { data, headers } = await axios.get<Pauta[]>(URL, { params: { limit: 50, cursor } })
       const lista = data ?? []
-
-   
-      const statuses = await Promise.all(
-        lista.map(async (p) => {
-          try {
-            const r = await axios.get<Resultado>(`${URL}/${p.id}/resultado`)
-            const raw = (r?.data as any)?.status
-            const status = typeof raw === 'string' ? (raw.trim().toUpperCase() as SessaoStatus) : 'ENCERRADA'
-            return { id: p.id, status }
-          } catch {
-            return { id: p.id, status: 'ENCERRADA' as SessaoStatus }
-          }
-        })
-      )
-
-      const map = new Map(statuses.map((s) => [s.id, s.status]))
-      setPautas(lista.map((p) => ({ ...p, sessaoStatus: map.get(p.id) })))
+      setPautas((prev) => (cursor ? [...prev, ...lista] : lista))
+      setProximo(headers['x-next-cursor'] || null)
     } catch {
       toast.current?.show({ severity: 'error', summary: 'Erro', detail: 'Falha ao buscar pautas' })
     } finally {
@@ -134,15 +121,8 @@ export default function App() {
       setOpen(false)
       setTitulo('')
       setDescricao('')
-      // adiciona e hidrata só essa
-      const p = data
-      try {
-        const r = await axios.get<Resultado>(`${URL}/${p.id}/resultado`)
-        const status = (r?.data?.status || 'ENCERRADA') as SessaoStatus
-        setPautas((prev) => [{ ...p, sessaoStatus: status }, ...prev])
-      } catch {
-        setPautas((prev) => [{ ...p, sessaoStatus: 'ENCERRADA' }, ...prev])
-      }
+      // pauta nova ainda não tem sessão
+      setPautas((prev) => [data, ...prev])
       toast.current?.show({ severity: 'success', summary: 'Pauta criada' })
     } catch {
       toast.current?.show({ severity: 'error', summary: 'Erro', detail: 'Não foi possível criar' })
@@ -274,7 +254,7 @@ export default function App() {
             <Button
               label="Atualizar"
               icon="pi pi-refresh"
-              onClick={carregar}
+              onClick={() => carregar()}
               loading={loading}
               className="p-button-raised"
             />
@@ -299,10 +279,14 @@ export default function App() {
             className="p-datatable-sm"
           >
             <Column field="titulo" header="Título" sortable />
-            <Column field="descricao" header="Descrição" />
             <Column header="Criada em" body={dataBody} sortable />
             <Column header="Ações" body={acaoBody} className="actions-col" />
           </DataTable>
+          {proximo && (
+            <div className="flex justify-content-center mt-2">
+              <Button label="Carregar mais" className="p-button-text" loading={loading} onClick={() => carregar(proximo)} />
+            </div>
+          )}
         </div>
       </div>
 